@@ -42,6 +42,11 @@ public class Algorithm extends JFrame {
     }
 
     public static void main(String[] args) {
+        // With arguments, run a process-scheduling trace headlessly instead
+        if (args.length > 0) {
+            SchedulingCli.main(args);
+            return;
+        }
         new Algorithm();
     }
 }
@@ -0,0 +1,56 @@
+package algorithm;
+
+// Anticipatory scheduling on top of LOOK. Right after a read completes, a
+// nearby request (within 1% of the disk) is served at once even if it lies
+// behind the head. Without one, the head idles for the anticipation window in
+// case such a request arrives, rather than seeking away immediately. Once the
+// last request has arrived there is nothing to wait for, so it is plain LOOK.
+public class AnticipatoryPolicy extends ScanDiskPolicy {
+    private final double windowMs;
+    private int[] cylinders;
+    private boolean[] writes;
+    private int near, last;
+    private double lastDone, lastArrival;
+
+    public AnticipatoryPolicy(double windowMs) {
+        super(false, false);
+        if (windowMs < 0) throw new IllegalArgumentException("Anticipation window must not be negative");
+        this.windowMs = windowMs;
+    }
+
+    @Override
+    public void init(int[] cylinders, int[] arrivals, boolean[] writes, int range, boolean up) {
+        super.init(cylinders, arrivals, writes, range, up);
+        this.cylinders = cylinders;
+        this.writes = writes;
+        near = Math.max(1, range / 100);
+        last = CylinderQueue.NONE;
+        // A held request gets its arrival time later, so it may still come.
+        lastArrival = 0;
+        for (int a : arrivals)
+            lastArrival = a == DiskArrivalSimulator.Disk.HELD ? Double.POSITIVE_INFINITY : Math.max(lastArrival, a);
+    }
+
+    @Override
+    public int next(int head, double now) {
+        if (last == CylinderQueue.NONE || writes[last] || now >= lastDone + windowMs || now >= lastArrival)
+            return super.next(head, now);
+        int i = pending.nearest(head);
+        if (i != CylinderQueue.NONE && Math.abs(cylinders[i] - head) <= near) {
+            pending.remove(i);
+            return i;
+        }
+        return WAIT;
+    }
+
+    @Override
+    public void served(int i, double now) {
+        last = i;
+        lastDone = now;
+    }
+
+    @Override
+    public double wakeAt() {
+        return last == CylinderQueue.NONE ? Double.POSITIVE_INFINITY : lastDone + windowMs;
+    }
+}
@@ -0,0 +1,79 @@
+package algorithm;
+
+// Adaptive Replacement Cache (Megiddo & Modha). T1 holds pages seen once
+// recently and T2 pages seen at least twice; B1 and B2 remember pages recently
+// evicted from each. Hits in B1 or B2 move the target size p of T1 toward
+// whichever side would have kept the page.
+public class ArcPolicy implements ReplacementPolicy {
+    private static final int T1 = 0, T2 = 1, B1 = 2, B2 = 3;
+
+    private PageLists lists;
+    private int[] slotOf;
+    private int c, p, used;
+
+    @Override
+    public void init(int[] pages, int frames) {
+        c = frames;
+        lists = new PageLists(2 * frames, 4);
+        slotOf = new int[2 * frames];
+    }
+
+    @Override
+    public int reference(int i, int page) {
+        int e = lists.find(page);
+        if (e != PageLists.NONE) {
+            int l = lists.listOf(e);
+            if (l == T1 || l == T2) {
+                lists.moveToNewest(e, T2);
+                return HIT;
+            }
+            int slot;
+            if (l == B1) {
+                p = Math.min(c, p + Math.max(lists.size(B2) / lists.size(B1), 1));
+                slot = replace(false);
+            } else {
+                p = Math.max(0, p - Math.max(lists.size(B1) / lists.size(B2), 1));
+                slot = replace(true);
+            }
+            lists.moveToNewest(e, T2);
+            slotOf[e] = slot;
+            return slot;
+        }
+
+        int l1 = lists.size(T1) + lists.size(B1);
+        int total = l1 + lists.size(T2) + lists.size(B2);
+        int slot;
+        if (l1 == c) {
+            if (lists.size(T1) < c) {
+                lists.remove(lists.oldest(B1));
+                slot = replace(false);
+            } else {
+                int victim = lists.oldest(T1);
+                slot = slotOf[victim];
+                lists.remove(victim);
+            }
+        } else if (total >= c) {
+            if (total == 2 * c) lists.remove(lists.oldest(B2));
+            slot = replace(false);
+        } else {
+            slot = used++;
+        }
+        e = lists.add(page, T1);
+        slotOf[e] = slot;
+        return slot;
+    }
+
+    // Evicts the LRU page of T1 or T2 into its ghost list and returns its slot.
+    private int replace(boolean inB2) {
+        int t1 = lists.size(T1);
+        int victim;
+        if (t1 >= 1 && ((inB2 && t1 == p) || t1 > p || lists.size(T2) == 0)) {
+            victim = lists.oldest(T1);
+            lists.moveToNewest(victim, B1);
+        } else {
+            victim = lists.oldest(T2);
+            lists.moveToNewest(victim, B2);
+        }
+        return slotOf[victim];
+    }
+}
@@ -0,0 +1,319 @@
+package algorithm;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+// Banker's algorithm state for admission control. Allocation, need and
+// available are kept between calls together with a safe sequence for the
+// current state, so a stream of requests does not rerun the safety search
+// each time.
+//
+// For every position t of the cached sequence we keep the slack
+// work(t) - need(t) per resource, where work(t) is what is free when that
+// process's turn comes. Granting r to the process at position p lowers the
+// slack of every earlier position by r and leaves the rest unchanged, so the
+// cached sequence survives the grant exactly when the minimum slack over
+// positions [0, p) is at least r. The slack lives in a min segment tree with
+// range add, making that check and its update O(m log n). Only when it fails
+// is the full safety search run again.
+//
+// Allocation and need are stored row-major in one array each, entry (i, j)
+// at i * m + j.
+public class BankerState {
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private final int n, m;
+    private final int[] alloc, need;
+    private final int[] available;
+    private final boolean[] finished;
+
+    private int[] sequence, position;
+    private long[] min, lazy;
+    private int leaves;
+
+    public BankerState(int[][] alloc, int[][] max, int[] available) {
+        this(alloc, max, available, Progress.NONE);
+    }
+
+    public BankerState(int[][] alloc, int[][] max, int[] available, Progress progress) {
+        this(IntMatrix.of(alloc), IntMatrix.of(max), available, progress);
+    }
+
+    public BankerState(IntMatrix alloc, IntMatrix max, int[] available) {
+        this(alloc, max, available, Progress.NONE);
+    }
+
+    public BankerState(IntMatrix alloc, IntMatrix max, int[] available, Progress progress) {
+        n = alloc.rows;
+        m = available.length;
+        if (max.rows != n) throw new IllegalArgumentException("Allocation has " + n + " rows but Max has " + max.rows);
+        if (n > 0 && (alloc.cols != m || max.cols != m))
+            throw new IllegalArgumentException("Every row must have " + m + " values");
+        this.alloc = alloc.data.clone();
+        this.need = new int[n * m];
+        this.available = available.clone();
+        this.finished = new boolean[n];
+        for (int k = 0; k < n * m; k++) {
+            need[k] = max.data[k] - alloc.data[k];
+            if (need[k] < 0) throw new IllegalArgumentException("P" + k / m + " holds more than its maximum");
+        }
+        revalidate(progress);
+    }
+
+    public int processes() { return n; }
+    public int resources() { return m; }
+    public boolean isSafe() { return sequence != null; }
+    public boolean isFinished(int i) { return finished[i]; }
+    public int[] available() { return available.clone(); }
+    public int[] allocation(int i) { return Arrays.copyOfRange(alloc, i * m, i * m + m); }
+    public int[] need(int i) { return Arrays.copyOfRange(need, i * m, i * m + m); }
+    public IntMatrix allocation() { return new IntMatrix(n, m, alloc.clone()); }
+
+    // Safe order of the processes that have not finished, or null if unsafe.
+    public int[] safeSequence() {
+        if (sequence == null) return null;
+        return Arrays.stream(sequence).filter(p -> !finished[p]).toArray();
+    }
+
+    // Reruns the full safety search and rebuilds the cache.
+    public boolean revalidate(Progress progress) {
+        install(search(progress));
+        return sequence != null;
+    }
+
+    // Process i asks for r. Returns true and applies the grant when r fits in
+    // what is available and the system stays safe; otherwise nothing changes
+    // and the process has to wait.
+    public boolean request(int i, int[] r) {
+        check(i, r);
+        for (int j = 0; j < m; j++)
+            if (r[j] > need[i * m + j]) throw new IllegalArgumentException("P" + i + " exceeds its maximum claim");
+        for (int j = 0; j < m; j++)
+            if (r[j] > available[j]) return false;
+
+        if (sequence != null && prefixFits(position[i], r)) {
+            move(i, r, 1);
+            addPrefix(position[i], r, -1);
+            return true;
+        }
+
+        move(i, r, 1);
+        int[] found = search(Progress.NONE);
+        if (found == null) {
+            move(i, r, -1);
+            return false;
+        }
+        install(found);
+        return true;
+    }
+
+    // Process i gives back r of what it holds. Never makes a safe state unsafe.
+    public void release(int i, int[] r) {
+        check(i, r);
+        for (int j = 0; j < m; j++)
+            if (r[j] > alloc[i * m + j]) throw new IllegalArgumentException("P" + i + " does not hold that much");
+        move(i, r, -1);
+        if (sequence != null) addPrefix(position[i], r, 1);
+        else revalidate(Progress.NONE);
+    }
+
+    // Process i completes and returns everything it holds.
+    public void finish(int i) {
+        if (finished[i]) return;
+        int[] held = allocation(i);
+        for (int j = 0; j < m; j++) available[j] += held[j];
+        Arrays.fill(alloc, i * m, i * m + m, 0);
+        Arrays.fill(need, i * m, i * m + m, 0);
+        finished[i] = true;
+        if (sequence == null) {
+            revalidate(Progress.NONE);
+            return;
+        }
+        addPrefix(position[i], held, 1);
+        kill(position[i]);
+    }
+
+    private void check(int i, int[] r) {
+        if (i < 0 || i >= n || finished[i]) throw new IllegalArgumentException("No active process P" + i);
+        if (r.length != m) throw new IllegalArgumentException("Request must have " + m + " values");
+        for (int v : r) if (v < 0) throw new IllegalArgumentException("Request values must not be negative");
+    }
+
+    // Moves r from available to process i (sign 1) or back (sign -1).
+    private void move(int i, int[] r, int sign) {
+        for (int j = 0, k = i * m; j < m; j++, k++) {
+            available[j] -= sign * r[j];
+            alloc[k] += sign * r[j];
+            need[k] -= sign * r[j];
+        }
+    }
+
+    private int[] search(Progress progress) {
+        int size = 0;
+        for (boolean f : finished) if (!f) size++;
+        long[] work = new long[m];
+        for (int j = 0; j < m; j++) work[j] = available[j];
+        int[] order = new int[size];
+        return reduce(n, m, alloc, need, work, finished, order, progress) == size ? order : null;
+    }
+
+    // Reduction shared by the safety search and deadlock detection: a process
+    // can run to completion once demand[i] fits in work, and then returns
+    // alloc[i] to work. Processes with skip[i] set are left out. Fills order
+    // with the processes that complete, leaves the final work behind and
+    // returns how many completed.
+    //
+    // Each process counts how many resources already fit its demand. For each
+    // resource, the processes it blocks sit in a min-heap keyed by that
+    // demand. Work only grows, so when a resource increases, every heap entry
+    // that now fits is popped for good and a process is looked at again only
+    // when a resource it was waiting on increases: O(n m log n) at worst
+    // instead of repeated full sweeps, and building the heaps is linear.
+    // Ready processes are taken in the order the classic index-order sweep
+    // takes them: the lowest ready index after the last one taken in this
+    // pass, otherwise the lowest ready index in a new pass.
+    static int reduce(int n, int m, int[] alloc, int[] demand, long[] work, boolean[] skip, int[] order, Progress progress) {
+        int[] fits = new int[n], blockedCount = new int[m];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            if (skip[i]) continue;
+            size++;
+            for (int j = 0, k = i * m; j < m; j++, k++) {
+                if (demand[k] <= work[j]) fits[i]++;
+                else blockedCount[j]++;
+            }
+        }
+
+        // Keys are demand << 32 | process, so the heaps never touch the matrix.
+        long[][] blocked = new long[m][];
+        for (int j = 0; j < m; j++) blocked[j] = new long[blockedCount[j]];
+        int[] cursor = new int[m];
+        PriorityQueue<Integer> thisPass = new PriorityQueue<>(), nextPass = new PriorityQueue<>();
+        for (int i = 0; i < n; i++) {
+            if (skip[i]) continue;
+            if (fits[i] == m) thisPass.add(i);
+            for (int j = 0, k = i * m; j < m; j++, k++)
+                if (demand[k] > work[j]) blocked[j][cursor[j]++] = (long) demand[k] << 32 | i;
+        }
+        for (int j = 0; j < m; j++) {
+            for (int k = cursor[j] / 2 - 1; k >= 0; k--) siftDown(blocked[j], k, cursor[j]);
+        }
+
+        int taken = 0, last = -1;
+        while (taken < size) {
+            if ((taken & 0x3FF) == 0) progress.update(taken, size);
+            if (thisPass.isEmpty()) {
+                if (nextPass.isEmpty()) break;
+                PriorityQueue<Integer> swap = thisPass;
+                thisPass = nextPass;
+                nextPass = swap;
+                last = -1;
+            }
+            int p = thisPass.poll();
+            last = p;
+            order[taken++] = p;
+
+            for (int j = 0, k = p * m; j < m; j++, k++) {
+                if (alloc[k] == 0) continue;
+                work[j] += alloc[k];
+                long[] heap = blocked[j];
+                while (cursor[j] > 0 && heap[0] >> 32 <= work[j]) {
+                    int q = (int) heap[0];
+                    heap[0] = heap[--cursor[j]];
+                    siftDown(heap, 0, cursor[j]);
+                    if (++fits[q] == m) (q > last ? thisPass : nextPass).add(q);
+                }
+            }
+        }
+        return taken;
+    }
+
+    // Restores the min-heap property below index k of heap[0..size).
+    private static void siftDown(long[] heap, int k, int size) {
+        long key = heap[k];
+        while (2 * k + 1 < size) {
+            int child = 2 * k + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= key) break;
+            heap[k] = heap[child];
+            k = child;
+        }
+        heap[k] = key;
+    }
+
+    private void install(int[] seq) {
+        sequence = seq;
+        if (seq == null) return;
+
+        if (position == null) position = new int[n];
+        Arrays.fill(position, -1);
+        leaves = 1;
+        while (leaves < seq.length) leaves <<= 1;
+        if (min == null || min.length != 2 * leaves * m) {
+            min = new long[2 * leaves * m];
+            lazy = new long[2 * leaves * m];
+        } else {
+            Arrays.fill(lazy, 0);
+        }
+        Arrays.fill(min, INF);
+
+        long[] work = new long[m];
+        for (int j = 0; j < m; j++) work[j] = available[j];
+        for (int t = 0; t < seq.length; t++) {
+            int p = seq[t], leaf = (leaves + t) * m;
+            position[p] = t;
+            for (int j = 0, k = p * m; j < m; j++, k++) {
+                min[leaf + j] = work[j] - need[k];
+                work[j] += alloc[k];
+            }
+        }
+        for (int node = leaves - 1; node >= 1; node--) pull(node);
+    }
+
+    // A node's minimum is the smaller child minimum plus its own pending add.
+    private void pull(int node) {
+        int at = node * m, left = 2 * node * m, right = left + m;
+        for (int j = 0; j < m; j++) min[at + j] = Math.min(min[left + j], min[right + j]) + lazy[at + j];
+    }
+
+    private boolean prefixFits(int pos, int[] r) {
+        for (int j = 0; j < m; j++)
+            if (prefixMin(1, 0, leaves, pos, j) < r[j]) return false;
+        return true;
+    }
+
+    private long prefixMin(int node, int lo, int hi, int pos, int j) {
+        if (lo >= pos) return INF;
+        if (hi <= pos) return min[node * m + j];
+        int mid = (lo + hi) >>> 1;
+        return Math.min(prefixMin(2 * node, lo, mid, pos, j), prefixMin(2 * node + 1, mid, hi, pos, j)) + lazy[node * m + j];
+    }
+
+    // Adds sign * delta to the slack of positions [0, pos).
+    private void addPrefix(int pos, int[] delta, int sign) {
+        if (pos > 0) add(1, 0, leaves, pos, delta, sign);
+    }
+
+    private void add(int node, int lo, int hi, int pos, int[] delta, int sign) {
+        if (lo >= pos) return;
+        if (hi <= pos) {
+            int at = node * m;
+            for (int j = 0; j < m; j++) {
+                min[at + j] += sign * (long) delta[j];
+                lazy[at + j] += sign * (long) delta[j];
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        add(2 * node, lo, mid, pos, delta, sign);
+        add(2 * node + 1, mid, hi, pos, delta, sign);
+        pull(node);
+    }
+
+    // A finished process no longer constrains anything.
+    private void kill(int pos) {
+        int node = leaves + pos;
+        Arrays.fill(min, node * m, node * m + m, INF);
+        for (node >>= 1; node >= 1; node >>= 1) pull(node);
+    }
+}
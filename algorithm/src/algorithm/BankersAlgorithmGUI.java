@@ -3,17 +3,40 @@ package algorithm;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 
 public class BankersAlgorithmGUI extends JFrame {
      private final ImageIcon icon;
 
+    // Longest list shown in the output area before it is cut short.
+    private static final int MAX_LINES = 50;
+
     private JTextArea outputArea;
-    private JTextField allocationField, maxField, availableField;
-    private JButton checkBtn;
+    private JTextField allocationField, maxField, availableField, processField, requestField, requestMatrixField, limitsField;
+    private JButton checkBtn, requestBtn, detectBtn, countBtn, loadAllocationBtn, loadMaxBtn, loadRequestBtn;
+
+    // State from the last check or request, reused while the input fields
+    // still show it.
+    private BankerState state;
+    private String stateKey;
+
+    // Set when a grant changed a file-loaded allocation; the loaded copy is
+    // refreshed from the state the next time it is read.
+    private boolean granted;
+
+    // Matrices loaded from files, used while their field still shows the
+    // placeholder written on load.
+    private final Map<JTextField, IntMatrix> loaded = new HashMap<>();
+    private final Map<JTextField, String> tags = new HashMap<>();
 
     public BankersAlgorithmGUI() {
         setTitle("Banker's Algorithm");
-        setSize(800, 400);
+        setSize(800, 610);
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         setLayout(new BorderLayout());
         getContentPane().setBackground(Color.PINK);
@@ -24,8 +47,8 @@ public class BankersAlgorithmGUI extends JFrame {
         JPanel inputPanel = new JPanel(null);
         JPanel outputPanel = new JPanel(null);
 
-        inputPanel.setPreferredSize(new Dimension(400, 400));
-        outputPanel.setPreferredSize(new Dimension(400, 400));
+        inputPanel.setPreferredSize(new Dimension(400, 610));
+        outputPanel.setPreferredSize(new Dimension(400, 610));
 
         // Input section
         JLabel allocationLabel = new JLabel("Allocation (rows with ; and values with ,):");
@@ -33,17 +56,25 @@ public class BankersAlgorithmGUI extends JFrame {
         inputPanel.add(allocationLabel);
 
         allocationField = new JTextField();
-        allocationField.setBounds(20, 45, 350, 25);
+        allocationField.setBounds(20, 45, 270, 25);
         inputPanel.add(allocationField);
 
+        loadAllocationBtn = new JButton("Load");
+        loadAllocationBtn.setBounds(295, 45, 75, 25);
+        inputPanel.add(loadAllocationBtn);
+
         JLabel maxLabel = new JLabel("Max Matrix:");
         maxLabel.setBounds(20, 80, 360, 20);
         inputPanel.add(maxLabel);
 
         maxField = new JTextField();
-        maxField.setBounds(20, 105, 350, 25);
+        maxField.setBounds(20, 105, 270, 25);
         inputPanel.add(maxField);
 
+        loadMaxBtn = new JButton("Load");
+        loadMaxBtn.setBounds(295, 105, 75, 25);
+        inputPanel.add(loadMaxBtn);
+
         JLabel availableLabel = new JLabel("Available Resources:");
         availableLabel.setBounds(20, 140, 360, 20);
         inputPanel.add(availableLabel);
@@ -56,6 +87,54 @@ public class BankersAlgorithmGUI extends JFrame {
         checkBtn.setBounds(100, 210, 200, 30);
         inputPanel.add(checkBtn);
 
+        JLabel processLabel = new JLabel("Process #:");
+        processLabel.setBounds(20, 260, 80, 20);
+        inputPanel.add(processLabel);
+
+        processField = new JTextField();
+        processField.setBounds(20, 285, 80, 25);
+        inputPanel.add(processField);
+
+        JLabel requestLabel = new JLabel("Request Vector:");
+        requestLabel.setBounds(120, 260, 250, 20);
+        inputPanel.add(requestLabel);
+
+        requestField = new JTextField();
+        requestField.setBounds(120, 285, 250, 25);
+        inputPanel.add(requestField);
+
+        requestBtn = new JButton("Request Resources");
+        requestBtn.setBounds(100, 325, 200, 30);
+        inputPanel.add(requestBtn);
+
+        JLabel requestMatrixLabel = new JLabel("Request Matrix (for deadlock detection):");
+        requestMatrixLabel.setBounds(20, 375, 360, 20);
+        inputPanel.add(requestMatrixLabel);
+
+        requestMatrixField = new JTextField();
+        requestMatrixField.setBounds(20, 400, 270, 25);
+        inputPanel.add(requestMatrixField);
+
+        loadRequestBtn = new JButton("Load");
+        loadRequestBtn.setBounds(295, 400, 75, 25);
+        inputPanel.add(loadRequestBtn);
+
+        detectBtn = new JButton("Detect Deadlock");
+        detectBtn.setBounds(100, 440, 200, 30);
+        inputPanel.add(detectBtn);
+
+        JLabel limitsLabel = new JLabel("Sequence Limits (samples, max states):");
+        limitsLabel.setBounds(20, 490, 360, 20);
+        inputPanel.add(limitsLabel);
+
+        limitsField = new JTextField("10, 1000000");
+        limitsField.setBounds(20, 515, 120, 25);
+        inputPanel.add(limitsField);
+
+        countBtn = new JButton("Count Safe Sequences");
+        countBtn.setBounds(150, 512, 220, 30);
+        inputPanel.add(countBtn);
+
         // Output section
         JLabel resultLabel = new JLabel("Result:");
         resultLabel.setBounds(20, 20, 100, 20);
@@ -77,95 +156,284 @@ public class BankersAlgorithmGUI extends JFrame {
 
         // Button event
         checkBtn.addActionListener(e -> checkSafeSequence());
+        requestBtn.addActionListener(e -> requestResources());
+        detectBtn.addActionListener(e -> detectDeadlock());
+        countBtn.addActionListener(e -> countSafeSequences());
+        loadAllocationBtn.addActionListener(e -> loadMatrix(allocationField));
+        loadMaxBtn.addActionListener(e -> loadMatrix(maxField));
+        loadRequestBtn.addActionListener(e -> loadMatrix(requestMatrixField));
+    }
+
+    // Reads a matrix file in the background and shows a placeholder for it,
+    // so large inputs never go through the text field.
+    private void loadMatrix(JTextField field) {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+
+        SimulationTask.start(this, "Loading " + file.getName(), progress -> IntMatrix.read(file.toPath(), -1),
+                matrix -> {
+                    syncAllocation();
+                    String tag = "[" + file.getName() + ", " + matrix.rows() + "×" + matrix.cols() + "]";
+                    loaded.put(field, matrix);
+                    tags.put(field, tag);
+                    field.setText(tag);
+                    state = null;
+                }, e -> {
+                    if (e instanceof CancellationException) return;
+                    JOptionPane.showMessageDialog(this, "Could not load " + file.getName() + ": " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                });
     }
 
     private void checkSafeSequence() {
+        String allocationText = allocationField.getText(), maxText = maxField.getText(), availableText = availableField.getText();
+        IntMatrix allocation = loaded(allocationField, allocationText), max = loaded(maxField, maxText);
+
+        SimulationTask.start(this, "Checking safe sequence",
+                progress -> buildState(allocationText, allocation, maxText, max, availableText, progress),
+                checked -> {
+                    state = checked;
+                    stateKey = allocationText + "|" + maxText + "|" + availableText;
+                    outputArea.setText(describe(checked));
+                }, ex -> outputArea.setText(ex instanceof CancellationException
+                ? "Check cancelled."
+                : formatError(ex)));
+    }
+
+    // Grants or denies one request against the cached state. When the input
+    // fields no longer match it, the state is rebuilt in the background first.
+    private void requestResources() {
+        String allocationText = allocationField.getText(), maxText = maxField.getText(), availableText = availableField.getText();
+        String processText = processField.getText(), requestText = requestField.getText();
+        String key = allocationText + "|" + maxText + "|" + availableText;
+        if (state != null && key.equals(stateKey)) {
+            grant(processText, requestText);
+            return;
+        }
+        IntMatrix allocation = loaded(allocationField, allocationText), max = loaded(maxField, maxText);
+
+        SimulationTask.start(this, "Checking state",
+                progress -> buildState(allocationText, allocation, maxText, max, availableText, progress),
+                built -> {
+                    state = built;
+                    stateKey = key;
+                    grant(processText, requestText);
+                }, ex -> outputArea.setText(ex instanceof CancellationException
+                ? "Request cancelled."
+                : formatError(ex)));
+    }
+
+    // Applies one request to the cached state, then writes back only what
+    // changed: the requesting row of a typed allocation and the available
+    // vector. A loaded allocation stays out of the text field.
+    private void grant(String processText, String requestText) {
         try {
-            // Parse Allocation matrix
-            String[] allocationRows = allocationField.getText().trim().split(";");
-            int[][] allocation = new int[allocationRows.length][];
-            for (int i = 0; i < allocationRows.length; i++) {
-                String[] nums = allocationRows[i].trim().split(",");
-                allocation[i] = new int[nums.length];
-                for (int j = 0; j < nums.length; j++) {
-                    allocation[i][j] = Integer.parseInt(nums[j].trim());
-                }
-            }
+            int process = Integer.parseInt(processText.trim().replaceFirst("^[Pp]", ""));
+            int[] request = parseVector("Request Vector", requestText);
 
-            // Parse Max matrix
-            String[] maxRows = maxField.getText().trim().split(";");
-            int[][] max = new int[maxRows.length][];
-            for (int i = 0; i < maxRows.length; i++) {
-                String[] nums = maxRows[i].trim().split(",");
-                max[i] = new int[nums.length];
-                for (int j = 0; j < nums.length; j++) {
-                    max[i][j] = Integer.parseInt(nums[j].trim());
-                }
+            if (!state.request(process, request)) {
+                outputArea.setText("⏳ Request denied: P" + process + " must wait.\n"
+                        + "Granting it now would exceed Available or leave the system unsafe.");
+                return;
             }
 
-            // Parse Available vector
-            String[] availableNums = availableField.getText().trim().split(",");
-            int[] available = new int[availableNums.length];
-            for (int i = 0; i < availableNums.length; i++) {
-                available[i] = Integer.parseInt(availableNums[i].trim());
+            String allocationText = allocationField.getText();
+            if (allocationText.equals(tags.get(allocationField))) {
+                granted = true;
+            } else {
+                String updated = replaceRow(allocationText, process, state.allocation(process));
+                allocationField.setText(updated != null ? updated : state.allocation().format());
             }
+            availableField.setText(join(state.available()));
+            stateKey = allocationField.getText() + "|" + maxField.getText() + "|" + availableField.getText();
+            outputArea.setText("✅ Request granted to P" + process + ".\n\n" + describe(state));
+        } catch (InputException ex) {
+            outputArea.setText(formatError(ex));
+        } catch (IllegalArgumentException ex) {
+            outputArea.setText("Request rejected!\n" + ex.getMessage());
+        } catch (RuntimeException ex) {
+            outputArea.setText(formatError(ex));
+        }
+    }
+
+    // Counts every safe order of the current state and lists the first few.
+    private void countSafeSequences() {
+        String allocationText = allocationField.getText(), maxText = maxField.getText(), availableText = availableField.getText();
+        String limitsText = limitsField.getText();
+        IntMatrix allocation = loaded(allocationField, allocationText), max = loaded(maxField, maxText);
+
+        SimulationTask.start(this, "Counting safe sequences", progress -> {
+            int[] limits = parseVector("Sequence Limits", limitsText);
+            if (limits.length != 2) throw new InputException("Sequence Limits", "expected samples and max states");
+            BankerState checked = buildState(allocationText, allocation, maxText, max, availableText, progress);
+            return SafeSequences.explore(checked, limits[0], limits[1], progress);
+        }, res -> outputArea.setText(describeSequences(res)), ex -> outputArea.setText(ex instanceof CancellationException
+                ? "Count cancelled."
+                : ex instanceof IllegalStateException ? "Count stopped!\n" + ex.getMessage() : formatError(ex)));
+    }
+
+    // Multi-instance detection over Allocation, Request Matrix and Available,
+    // plus the wait-for cycles among single-instance resources.
+    private void detectDeadlock() {
+        String allocationText = allocationField.getText(), requestText = requestMatrixField.getText(), availableText = availableField.getText();
+        IntMatrix allocation = loaded(allocationField, allocationText), request = loaded(requestMatrixField, requestText);
 
-            String result = bankersAlgorithm(allocation, max, available);
-            outputArea.setText(result);
+        SimulationTask.start(this, "Detecting deadlock", progress -> {
+            int[] available = parseVector("Available", availableText);
+            IntMatrix alloc = parseMatrix("Allocation", allocationText, allocation, available.length);
+            IntMatrix req = parseMatrix("Request Matrix", requestText, request, available.length);
+            if (alloc.rows() != req.rows())
+                throw new InputException("Request Matrix", "has " + req.rows() + " rows, Allocation has " + alloc.rows());
+            DeadlockDetector.Result res = DeadlockDetector.detect(alloc, req, available, progress);
+            return describeDeadlock(res, WaitForGraph.fromResources(alloc, req, available).cycles());
+        }, outputArea::setText, ex -> outputArea.setText(ex instanceof CancellationException
+                ? "Detection cancelled."
+                : formatError(ex)));
+    }
 
-        } catch (Exception ex) {
-            outputArea.setText("Error in input format!\nUse , between numbers and ; between rows.");
+    // A field that cannot be parsed, named so the message can point at it.
+    private static class InputException extends IllegalArgumentException {
+        InputException(String field, String message) {
+            super(field + ": " + message);
         }
     }
 
-    private String bankersAlgorithm(int[][] alloc, int[][] max, int[] avail) {
-        int n = alloc.length;
-        int m = avail.length;
-
-        int[][] need = new int[n][m];
-        boolean[] finish = new boolean[n];
-        int[] safeSequence = new int[n];
-        int count = 0;
-
-        for (int i = 0; i < n; i++)
-            for (int j = 0; j < m; j++)
-                need[i][j] = max[i][j] - alloc[i][j];
-
-        int[] work = avail.clone();
-
-        while (count < n) {
-            boolean found = false;
-            for (int i = 0; i < n; i++) {
-                if (!finish[i]) {
-                    boolean possible = true;
-                    for (int j = 0; j < m; j++) {
-                        if (need[i][j] > work[j]) {
-                            possible = false;
-                            break;
-                        }
-                    }
-                    if (possible) {
-                        for (int k = 0; k < m; k++) {
-                            work[k] += alloc[i][k];
-                        }
-                        safeSequence[count++] = i;
-                        finish[i] = true;
-                        found = true;
-                    }
-                }
-            }
-            if (!found) {
-                return "❌ System is NOT in a safe state!";
-            }
+    private static String formatError(Throwable ex) {
+        if (ex instanceof IllegalArgumentException) return "Error in input format!\n" + ex.getMessage();
+        return "Error in input format!\nUse , between numbers and ; between rows.";
+    }
+
+    private IntMatrix loaded(JTextField field, String text) {
+        if (field == allocationField) syncAllocation();
+        return text.equals(tags.get(field)) ? loaded.get(field) : null;
+    }
+
+    private void syncAllocation() {
+        if (!granted) return;
+        loaded.put(allocationField, state.allocation());
+        granted = false;
+    }
+
+    // The typed matrix with row `row` replaced by values, keeping the rest of
+    // the text as it is, or null when rows cannot be matched up safely.
+    private static String replaceRow(String text, int row, int[] values) {
+        if (text.indexOf('#') >= 0) return null;
+        for (int k = 0, start = 0, r = 0; k <= text.length(); k++) {
+            if (k < text.length() && text.charAt(k) != ';' && text.charAt(k) != '\n') continue;
+            int from = start, to = k;
+            start = k + 1;
+            while (from < to && Character.isWhitespace(text.charAt(from))) from++;
+            while (to > from && Character.isWhitespace(text.charAt(to - 1))) to--;
+            if (text.substring(from, to).replace(',', ' ').isBlank()) continue;
+            if (r++ == row) return text.substring(0, from) + join(values) + text.substring(to);
+        }
+        return null;
+    }
+
+    // Available fixes the number of resource types every matrix row must have.
+    private static BankerState buildState(String allocationText, IntMatrix allocation, String maxText, IntMatrix max,
+                                          String availableText, Progress progress) {
+        int[] available = parseVector("Available", availableText);
+        allocation = parseMatrix("Allocation", allocationText, allocation, available.length);
+        max = parseMatrix("Max", maxText, max, available.length);
+        if (allocation.rows() != max.rows())
+            throw new InputException("Max", "has " + max.rows() + " rows, Allocation has " + allocation.rows());
+        return new BankerState(allocation, max, available, progress);
+    }
+
+    private static IntMatrix parseMatrix(String field, String text, IntMatrix loaded, int cols) {
+        if (loaded != null) {
+            if (loaded.rows() > 0 && loaded.cols() != cols)
+                throw new InputException(field, "rows have " + loaded.cols() + " values, expected " + cols);
+            return loaded;
+        }
+        IntMatrix matrix;
+        try {
+            matrix = IntMatrix.parse(text, cols);
+        } catch (IllegalArgumentException ex) {
+            throw new InputException(field, ex.getMessage());
+        }
+        if (matrix.rows() == 0) throw new InputException(field, "no values");
+        return matrix;
+    }
+
+    private static int[] parseVector(String field, String text) {
+        IntMatrix vector;
+        try {
+            vector = IntMatrix.parse(text, -1);
+        } catch (IllegalArgumentException ex) {
+            throw new InputException(field, ex.getMessage().replaceFirst("^Row 1, c", "C"));
         }
+        if (vector.rows() != 1) throw new InputException(field, "expected one row of values");
+        return vector.row(0);
+    }
+
+    private static String join(int[] values) {
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < values.length; j++) {
+            if (j > 0) sb.append(", ");
+            sb.append(values[j]);
+        }
+        return sb.toString();
+    }
+
+    private static String describe(BankerState state) {
+        int[] safeSequence = state.safeSequence();
+        if (safeSequence == null) return "❌ System is NOT in a safe state!";
 
         StringBuilder sb = new StringBuilder();
         sb.append("✅ System is in a safe state.\n");
         sb.append("Safe Sequence:\n");
-        for (int i = 0; i < n; i++) {
+        for (int i = 0; i < safeSequence.length; i++) {
             sb.append("P").append(safeSequence[i]);
-            if (i != n - 1) sb.append(" -> ");
+            if (i != safeSequence.length - 1) sb.append(" -> ");
         }
         return sb.toString();
     }
+
+    private static String describeDeadlock(DeadlockDetector.Result res, int[][] cycles) {
+        if (!res.isDeadlocked()) return "✅ No deadlock detected.\nEvery process holding resources can finish.";
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("❌ Deadlock detected!\n");
+        sb.append(res.deadlocked.length).append(" deadlocked process(es):\n");
+        for (int k = 0; k < res.deadlocked.length && k < MAX_LINES; k++) {
+            int p = res.deadlocked[k];
+            sb.append("P").append(p).append(" waits for");
+            int[] resources = res.waitingOn(p);
+            for (int j = 0; j < resources.length; j++) sb.append(j == 0 ? " R" : ", R").append(resources[j]);
+            sb.append('\n');
+        }
+        if (res.deadlocked.length > MAX_LINES) sb.append("... and ").append(res.deadlocked.length - MAX_LINES).append(" more\n");
+
+        if (cycles.length > 0) {
+            sb.append("\nWait-for cycles (single-instance resources):\n");
+            for (int k = 0; k < cycles.length && k < MAX_LINES; k++) {
+                for (int i = 0; i < cycles[k].length; i++) sb.append(i == 0 ? "P" : ", P").append(cycles[k][i]);
+                sb.append('\n');
+            }
+            if (cycles.length > MAX_LINES) sb.append("... and ").append(cycles.length - MAX_LINES).append(" more\n");
+        }
+        return sb.toString();
+    }
+
+    private static String describeSequences(SafeSequences.Result res) {
+        if (res.count.signum() == 0) return "❌ System is NOT in a safe state!\nThere is no safe sequence.";
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("✅ Safe sequences: ").append(formatCount(res.count)).append('\n');
+        sb.append("States explored: ").append(res.states).append('\n');
+        if (res.samples.length > 0) sb.append("\nFirst ").append(res.samples.length).append(":\n");
+        for (int[] sequence : res.samples) {
+            for (int i = 0; i < sequence.length; i++) sb.append(i == 0 ? "P" : " -> P").append(sequence[i]);
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String formatCount(BigInteger count) {
+        String digits = count.toString();
+        if (digits.length() <= 18) return digits;
+        return String.format("about %.4e (%d digits)", new BigDecimal(count), digits.length());
+    }
 }
@@ -0,0 +1,42 @@
+package algorithm;
+
+// CLOCK: frames form a ring with one reference bit each. Hits set the bit; on
+// a fault the hand clears set bits until it finds a clear one to replace.
+public class ClockPolicy implements ReplacementPolicy {
+    private IntIntMap slotOf;
+    private int[] slotPage;
+    private boolean[] referenced;
+    private int frames, used, hand;
+
+    @Override
+    public void init(int[] pages, int frames) {
+        this.frames = frames;
+        slotOf = new IntIntMap(frames);
+        slotPage = new int[frames];
+        referenced = new boolean[frames];
+    }
+
+    @Override
+    public int reference(int i, int page) {
+        int slot = slotOf.get(page);
+        if (slot != IntIntMap.MISSING) {
+            referenced[slot] = true;
+            return HIT;
+        }
+        if (used < frames) {
+            slot = used++;
+        } else {
+            while (referenced[hand]) {
+                referenced[hand] = false;
+                hand = (hand + 1) % frames;
+            }
+            slot = hand;
+            slotOf.remove(slotPage[slot]);
+            hand = (hand + 1) % frames;
+        }
+        slotPage[slot] = page;
+        slotOf.put(page, slot);
+        referenced[slot] = false;
+        return slot;
+    }
+}
@@ -0,0 +1,54 @@
+package algorithm;
+
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+// Runs every algorithm of a simulator concurrently over the same input, so a
+// comparison takes about as long as the slowest algorithm rather than the sum.
+public class ComparisonRunner {
+
+    static class Entry<T> {
+        final String algorithm;
+        final T result;
+        final long millis;
+
+        Entry(String algorithm, T result, long millis) {
+            this.algorithm = algorithm;
+            this.result = result;
+            this.millis = millis;
+        }
+    }
+
+    // Each task must treat the shared input as read-only. Tasks get a progress
+    // hook that only polls for cancellation; overall progress counts finished
+    // algorithms.
+    static <T> List<Entry<T>> compare(String[] algorithms, BiFunction<String, Progress, T> task, Progress progress) {
+        Progress cancelOnly = (done, total) -> progress.update(0, 0);
+        AtomicInteger finished = new AtomicInteger();
+        List<Callable<Entry<T>>> jobs = new ArrayList<>();
+        for (String algo : algorithms) {
+            jobs.add(() -> {
+                long start = System.nanoTime();
+                T result = task.apply(algo, cancelOnly);
+                progress.update(finished.incrementAndGet(), algorithms.length);
+                return new Entry<>(algo, result, (System.nanoTime() - start) / 1_000_000);
+            });
+        }
+
+        List<Entry<T>> entries = new ArrayList<>();
+        try {
+            for (Future<Entry<T>> f : ForkJoinPool.commonPool().invokeAll(jobs))
+                entries.add(f.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Comparison interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,368 @@
+package algorithm;
+
+import java.util.*;
+
+// Headless CPU scheduling engine used by ProcessSchedulingGUI.
+public class CpuScheduler {
+    public static final String[] ALGORITHMS = {
+        "FCFS", "SJF (Non-Preemptive)", "SJF (Preemptive)",
+        "Priority (Non-Preemptive)", "Priority (Preemptive)", "Round Robin", "MLFQ"
+    };
+
+    // Multilevel feedback queue settings: one quantum per level, top level
+    // first, and how long a process may wait below the top level before it
+    // moves up one level (0 turns aging off).
+    static class Mlfq {
+        final int[] quanta;
+        final int aging;
+
+        Mlfq(int[] quanta, int aging) {
+            if (quanta.length == 0) throw new IllegalArgumentException("MLFQ needs at least one level");
+            for (int q : quanta) if (q <= 0) throw new IllegalArgumentException("MLFQ quanta must be positive");
+            if (aging < 0) throw new IllegalArgumentException("MLFQ aging must not be negative");
+            this.quanta = quanta.clone();
+            this.aging = aging;
+        }
+
+        // Three levels of quantum, 2x and 4x quantum, without aging.
+        static Mlfq from(int quantum) {
+            return new Mlfq(new int[]{quantum, 2 * quantum, 4 * quantum}, 0);
+        }
+    }
+
+    static class Result {
+        final ProcessTable processes;
+        final GanttTimeline gantt;
+        final double avgWT, avgTAT;
+        final ScheduleMetrics metrics;
+
+        Result(ProcessTable processes, GanttTimeline gantt) {
+            this.processes = processes;
+            this.gantt = gantt;
+            this.metrics = new ScheduleMetrics(processes, gantt);
+            double totalWT = 0, totalTAT = 0;
+            for (int i = 0; i < processes.size; i++) {
+                totalWT += processes.wt[i];
+                totalTAT += processes.tat[i];
+            }
+            this.avgWT = totalWT / processes.size;
+            this.avgTAT = totalTAT / processes.size;
+        }
+    }
+
+    public static Result run(String algo, int[] at, int[] bt, int[] pr, int quantum) {
+        return run(algo, at, bt, pr, quantum, Progress.NONE);
+    }
+
+    public static Result run(String algo, int[] at, int[] bt, int[] pr, int quantum, Progress progress) {
+        return run(algo, at, bt, pr, quantum, null, progress);
+    }
+
+    public static Result run(String algo, int[] at, int[] bt, int[] pr, int quantum, Mlfq mlfq, Progress progress) {
+        return run(algo, at, bt, pr, quantum, mlfq, 0, progress);
+    }
+
+    // mlfq is only read for MLFQ, where null means Mlfq.from(quantum). aging
+    // is the wait after which a ready process gains one priority level in
+    // the priority schedulers (0 turns aging off).
+    public static Result run(String algo, int[] at, int[] bt, int[] pr, int quantum, Mlfq mlfq, int aging, Progress progress) {
+        return run(algo, new ProcessTable(at, bt, pr), quantum, mlfq, aging, progress);
+    }
+
+    static Result run(String algo, ProcessTable processes, int quantum, Mlfq mlfq, int aging, Progress progress) {
+        if (aging < 0) throw new IllegalArgumentException("Priority aging must not be negative");
+        GanttTimeline gantt = new GanttTimeline();
+        switch (algo) {
+            case "FCFS" -> fcfs(processes, gantt, progress);
+            case "SJF (Non-Preemptive)" -> nonPreemptive(processes, gantt, new ReadyQueue(processes.rt, 0), progress);
+            case "SJF (Preemptive)" -> preemptive(processes, gantt, new ReadyQueue(processes.rt, 0), progress);
+            case "Priority (Non-Preemptive)" -> nonPreemptive(processes, gantt, new ReadyQueue(processes.pr, aging), progress);
+            case "Priority (Preemptive)" -> preemptive(processes, gantt, new ReadyQueue(processes.pr, aging), progress);
+            case "Round Robin" -> roundRobin(processes, gantt, quantum, progress);
+            case "MLFQ" -> mlfq(processes, gantt, mlfq != null ? mlfq : Mlfq.from(quantum), progress);
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algo);
+        }
+        return new Result(processes, gantt);
+    }
+
+    private static void fcfs(ProcessTable t, GanttTimeline gantt, Progress progress) {
+        t.sortByArrival();
+        long time = 0;
+        for (int i = 0; i < t.size; i++) {
+            if ((i & 0x3FF) == 0) progress.update(i, t.size);
+            time = Math.max(time, t.at[i]);
+            gantt.add(t.id[i], time, time + t.bt[i]);
+            time += t.bt[i];
+            t.finish(i, time);
+        }
+    }
+
+    // Ready queue for SJF and priority scheduling: an indexed heap keyed by
+    // burst or priority, ties to the lower index. With aging, a ready process
+    // gains one priority level for every `aging` time units it waits, up to
+    // the best base priority in the table, and rejoins at its base after it
+    // has run. Each waiting process has one pending boost in a second heap
+    // keyed by when it is due, so aging is a decrease-key per boost instead
+    // of a sweep over the queue.
+    private static class ReadyQueue {
+        final IndexedHeap ready, boosts;
+        final int[] base;
+        final int aging, best;
+
+        ReadyQueue(int[] base, int aging) {
+            this.base = base;
+            this.aging = aging;
+            ready = new IndexedHeap(base.length);
+            boosts = new IndexedHeap(aging > 0 ? base.length : 0);
+            int min = Integer.MAX_VALUE;
+            for (int k : base) min = Math.min(min, k);
+            best = min;
+        }
+
+        boolean isEmpty() { return ready.isEmpty(); }
+
+        // Key p was last queued with or boosted to.
+        long key(int p) { return ready.key(p); }
+
+        // Whether the head of the queue orders before p with key k.
+        boolean beats(int p, long k) {
+            if (ready.isEmpty()) return false;
+            int q = ready.peek();
+            return ready.key(q) < k || ready.key(q) == k && q < p;
+        }
+
+        // p joins with its base key, waiting since the given time.
+        void add(int p, long since) {
+            ready.add(p, base[p]);
+            if (aging > 0 && base[p] > best) boosts.add(p, since + aging);
+        }
+
+        // Applies every boost due by the given time, all of one process's
+        // overdue boosts in a single update.
+        void age(long time) {
+            while (!boosts.isEmpty() && boosts.key(boosts.peek()) <= time) {
+                int p = boosts.peek();
+                long due = boosts.key(p), steps = (time - due) / aging + 1;
+                long k = Math.max(best, ready.key(p) - steps);
+                ready.update(p, k);
+                if (k > best) boosts.update(p, due + steps * aging);
+                else boosts.remove(p);
+            }
+        }
+
+        int poll() {
+            int p = ready.poll();
+            if (aging > 0 && boosts.contains(p)) boosts.remove(p);
+            return p;
+        }
+
+        long nextBoost() {
+            return boosts.isEmpty() ? Long.MAX_VALUE : boosts.key(boosts.peek());
+        }
+    }
+
+    // The table is sorted by arrival, so arrivals come in through a cursor and
+    // ties in the ready queue go to the earlier arrival. An idle CPU jumps to
+    // the next arrival.
+    private static void nonPreemptive(ProcessTable t, GanttTimeline gantt, ReadyQueue ready, Progress progress) {
+        t.sortByArrival();
+        int n = t.size;
+        long time = 0;
+        int next = 0, completed = 0;
+        while (completed < n) {
+            for (; next < n && t.at[next] <= time; next++) ready.add(next, t.at[next]);
+            ready.age(time);
+            if (ready.isEmpty()) {
+                gantt.add(GanttTimeline.IDLE, time, t.at[next]);
+                time = t.at[next];
+                continue;
+            }
+            int idx = ready.poll();
+            gantt.add(t.id[idx], time, time + t.bt[idx]);
+            time += t.bt[idx];
+            t.finish(idx, time);
+            completed++;
+            if ((completed & 0x3FF) == 0) progress.update(completed, n);
+        }
+    }
+
+    // Discrete-event SRTF / preemptive priority: the CPU only re-decides at an
+    // arrival, a completion or an aging boost, so time jumps between events
+    // instead of ticking. The running process is preempted only by one that
+    // orders strictly before it, ties going to the lower input index as the
+    // per-tick scan did. It keeps the priority it was dispatched with while
+    // it runs.
+    private static void preemptive(ProcessTable t, GanttTimeline gantt, ReadyQueue ready, Progress progress) {
+        int n = t.size;
+        int[] order = t.arrivalOrder();
+
+        long time = 0;
+        int next = 0, completed = 0, idx = -1;
+        long runKey = 0;
+        while (completed < n) {
+            for (; next < n && t.at[order[next]] <= time; next++) ready.add(order[next], t.at[order[next]]);
+            ready.age(time);
+            if (idx >= 0) {
+                // remaining time only shrinks while running; a boost holds
+                runKey = Math.min(runKey, ready.base[idx]);
+                if (ready.beats(idx, runKey)) {
+                    ready.add(idx, time);
+                    idx = -1;
+                }
+            }
+            if (idx < 0) {
+                if (ready.isEmpty()) {
+                    int arrival = t.at[order[next]];
+                    gantt.add(GanttTimeline.IDLE, time, arrival);
+                    time = arrival;
+                    continue;
+                }
+                idx = ready.poll();
+                runKey = ready.key(idx);
+            }
+            int slice = t.rt[idx];
+            if (next < n) slice = (int) Math.min(slice, t.at[order[next]] - time);
+            slice = (int) Math.min(slice, ready.nextBoost() - time);
+            gantt.add(t.id[idx], time, time + slice);
+            t.rt[idx] -= slice;
+            time += slice;
+            if (t.rt[idx] == 0) {
+                t.finish(idx, time);
+                completed++;
+                if ((completed & 0x3FF) == 0) progress.update(completed, n);
+                idx = -1;
+            }
+        }
+    }
+
+    // Ready queue is a ring buffer of input indices; every process is in it at
+    // most once, so n slots suffice. Arrivals come off an arrival-sorted order
+    // through a cursor. Processes arriving during the same slice are queued in
+    // input order, as the per-quantum rescan did, and an idle CPU jumps
+    // straight to the next arrival.
+    private static void roundRobin(ProcessTable t, GanttTimeline gantt, int quantum, Progress progress) {
+        if (quantum <= 0) throw new IllegalArgumentException("Quantum must be positive");
+        int n = t.size;
+        int[] order = t.arrivalOrder();
+
+        // The slice's process goes back after that slice's arrivals.
+        int[] ring = new int[Math.max(1, n)];
+        int head = 0, size = 0, requeue = -1;
+        long time = 0;
+        int next = 0, completed = 0;
+        while (completed < n) {
+            int from = next;
+            while (next < n && t.at[order[next]] <= time) next++;
+            Arrays.sort(order, from, next);
+            for (int k = from; k < next; k++) ring[(head + size++) % ring.length] = order[k];
+            if (requeue >= 0) {
+                ring[(head + size++) % ring.length] = requeue;
+                requeue = -1;
+            }
+
+            if (size == 0) {
+                int arrival = t.at[order[next]];
+                gantt.add(GanttTimeline.IDLE, time, arrival);
+                time = arrival;
+                continue;
+            }
+            int idx = ring[head];
+            head = head + 1 == ring.length ? 0 : head + 1;
+            size--;
+            int ex = Math.min(t.rt[idx], quantum);
+            gantt.add(t.id[idx], time, time + ex);
+            t.rt[idx] -= ex;
+            time += ex;
+            if (t.rt[idx] > 0) requeue = idx;
+            else {
+                t.finish(idx, time);
+                completed++;
+                if ((completed & 0x3FF) == 0) progress.update(completed, n);
+            }
+        }
+    }
+
+    // New processes enter the top level; the highest non-empty level runs
+    // round robin with its own quantum. A process that uses up its quantum
+    // moves down a level (the bottom level just cycles), and an arrival
+    // preempts anything running below the top level. A preempted process
+    // keeps what it has used of its quantum. Each level is an intrusive FIFO
+    // over one shared next-link array, so every process sits in at most one
+    // queue. Queues are ordered by the time a process joined them, so aging
+    // only needs to look at queue heads: whenever the CPU picks its next
+    // process, heads that have waited at least mlfq.aging move up one level.
+    private static void mlfq(ProcessTable t, GanttTimeline gantt, Mlfq mlfq, Progress progress) {
+        int n = t.size, levels = mlfq.quanta.length;
+        int[] order = t.arrivalOrder();
+        int[] level = new int[n], used = new int[n], link = new int[n];
+        long[] queuedAt = new long[n];
+        int[] head = new int[levels], tail = new int[levels];
+        Arrays.fill(head, -1);
+        Arrays.fill(tail, -1);
+
+        long time = 0;
+        int next = 0, completed = 0, requeue = -1;
+        while (completed < n) {
+            int from = next;
+            while (next < n && t.at[order[next]] <= time) next++;
+            Arrays.sort(order, from, next);
+            for (int k = from; k < next; k++) enqueue(order[k], 0, time, level, queuedAt, link, head, tail);
+            if (requeue >= 0) {
+                enqueue(requeue, level[requeue], time, level, queuedAt, link, head, tail);
+                requeue = -1;
+            }
+            if (mlfq.aging > 0) {
+                for (int lv = 1; lv < levels; lv++) {
+                    while (head[lv] != -1 && time - queuedAt[head[lv]] >= mlfq.aging) {
+                        int p = dequeue(lv, link, head, tail);
+                        used[p] = 0;
+                        enqueue(p, lv - 1, time, level, queuedAt, link, head, tail);
+                    }
+                }
+            }
+
+            int lv = 0;
+            while (lv < levels && head[lv] == -1) lv++;
+            if (lv == levels) {
+                int arrival = t.at[order[next]];
+                gantt.add(GanttTimeline.IDLE, time, arrival);
+                time = arrival;
+                continue;
+            }
+            int idx = dequeue(lv, link, head, tail);
+            int slice = Math.min(t.rt[idx], mlfq.quanta[lv] - used[idx]);
+            if (lv > 0 && next < n) slice = (int) Math.min(slice, t.at[order[next]] - time);
+            gantt.add(t.id[idx], time, time + slice);
+            t.rt[idx] -= slice;
+            used[idx] += slice;
+            time += slice;
+            if (t.rt[idx] == 0) {
+                t.finish(idx, time);
+                completed++;
+                if ((completed & 0x3FF) == 0) progress.update(completed, n);
+                continue;
+            }
+            if (used[idx] == mlfq.quanta[lv]) {
+                used[idx] = 0;
+                if (lv < levels - 1) level[idx] = lv + 1;
+            }
+            requeue = idx;
+        }
+    }
+
+    private static void enqueue(int p, int lv, long time, int[] level, long[] queuedAt, int[] link, int[] head, int[] tail) {
+        level[p] = lv;
+        queuedAt[p] = time;
+        link[p] = -1;
+        if (tail[lv] == -1) head[lv] = p;
+        else link[tail[lv]] = p;
+        tail[lv] = p;
+    }
+
+    private static int dequeue(int lv, int[] link, int[] head, int[] tail) {
+        int p = head[lv];
+        head[lv] = link[p];
+        if (head[lv] == -1) tail[lv] = -1;
+        return p;
+    }
+}
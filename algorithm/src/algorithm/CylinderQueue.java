@@ -0,0 +1,51 @@
+package algorithm;
+
+import java.util.TreeSet;
+
+// Pending disk requests ordered by cylinder, then by request index. Lookups
+// return the lowest-index request at the chosen cylinder, or NONE.
+public class CylinderQueue {
+    public static final int NONE = -1;
+
+    private final TreeSet<Long> keys = new TreeSet<>();
+    private final int[] cylinders;
+
+    public CylinderQueue(int[] cylinders) {
+        this.cylinders = cylinders;
+    }
+
+    public void add(int i) { keys.add(key(i)); }
+    public void remove(int i) { keys.remove(key(i)); }
+    public boolean isEmpty() { return keys.isEmpty(); }
+    public int size() { return keys.size(); }
+
+    public int first() {
+        return keys.isEmpty() ? NONE : (int) (long) keys.first();
+    }
+
+    // Request at the first cylinder at or above head.
+    public int above(int head) {
+        Long key = keys.ceiling((long) head << 32);
+        return key == null ? NONE : (int) (long) key;
+    }
+
+    // Request at the first cylinder at or below head.
+    public int below(int head) {
+        Long key = keys.floor((long) head << 32 | 0xFFFFFFFFL);
+        return key == null ? NONE : (int) (long) keys.ceiling(key >> 32 << 32);
+    }
+
+    // Closest request to head; equal distances go to the lower index.
+    public int nearest(int head) {
+        int a = above(head), b = below(head);
+        if (a == NONE) return b;
+        if (b == NONE) return a;
+        long da = (long) cylinders[a] - head, db = (long) head - cylinders[b];
+        if (da != db) return da < db ? a : b;
+        return Math.min(a, b);
+    }
+
+    private long key(int i) {
+        return (long) cylinders[i] << 32 | i;
+    }
+}
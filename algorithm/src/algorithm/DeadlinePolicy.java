@@ -0,0 +1,67 @@
+package algorithm;
+
+// Simplified mq-deadline. Reads and writes each have a cylinder-sorted queue,
+// served in one-way elevator order, and a FIFO by arrival. A request whose
+// FIFO deadline has passed is served first, reads before writes. Otherwise
+// reads are preferred until pending writes have been passed over
+// WRITES_STARVED times.
+public class DeadlinePolicy implements DiskPolicy {
+    private static final int READ = 0, WRITE = 1, WRITES_STARVED = 2;
+
+    private final double[] expire;
+    private final CylinderQueue[] sorted = new CylinderQueue[2];
+    private final int[][] fifo = new int[2][];
+    private final int[] fifoHead = new int[2], fifoTail = new int[2];
+    private int[] arrivals;
+    private boolean[] writes, done;
+    private int starved;
+
+    public DeadlinePolicy(double readExpireMs, double writeExpireMs) {
+        if (readExpireMs < 0 || writeExpireMs < 0) throw new IllegalArgumentException("Expiry times must not be negative");
+        expire = new double[]{readExpireMs, writeExpireMs};
+    }
+
+    @Override
+    public void init(int[] cylinders, int[] arrivals, boolean[] writes, int range, boolean up) {
+        this.arrivals = arrivals;
+        this.writes = writes;
+        done = new boolean[cylinders.length];
+        for (int dir = READ; dir <= WRITE; dir++) {
+            sorted[dir] = new CylinderQueue(cylinders);
+            fifo[dir] = new int[cylinders.length];
+            fifoHead[dir] = fifoTail[dir] = 0;
+        }
+        starved = 0;
+    }
+
+    @Override
+    public void arrive(int i) {
+        int dir = writes[i] ? WRITE : READ;
+        sorted[dir].add(i);
+        fifo[dir][fifoTail[dir]++] = i;
+    }
+
+    @Override
+    public int next(int head, double now) {
+        for (int dir = READ; dir <= WRITE; dir++) {
+            while (fifoHead[dir] < fifoTail[dir] && done[fifo[dir][fifoHead[dir]]]) fifoHead[dir]++;
+            if (fifoHead[dir] < fifoTail[dir] && now - arrivals[fifo[dir][fifoHead[dir]]] >= expire[dir])
+                return take(dir, fifo[dir][fifoHead[dir]]);
+        }
+
+        boolean reads = !sorted[READ].isEmpty(), pendingWrites = !sorted[WRITE].isEmpty();
+        if (!reads && !pendingWrites) return WAIT;
+        int dir = reads && (!pendingWrites || starved < WRITES_STARVED) ? READ : WRITE;
+        if (dir == READ && pendingWrites) starved++;
+        else if (dir == WRITE) starved = 0;
+
+        int i = sorted[dir].above(head);
+        return take(dir, i != CylinderQueue.NONE ? i : sorted[dir].first());
+    }
+
+    private int take(int dir, int i) {
+        sorted[dir].remove(i);
+        done[i] = true;
+        return i;
+    }
+}
@@ -0,0 +1,58 @@
+package algorithm;
+
+import java.io.*;
+import java.nio.file.*;
+
+// Headless deadlock detection: reads the allocation and request matrices
+// from files and prints the deadlocked processes, what each is waiting for,
+// and the wait-for cycles over single-instance resources.
+//   java -cp algorithm.jar algorithm.DeadlockCli <allocation.txt> <request.txt> <available>
+public class DeadlockCli {
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: DeadlockCli <allocation.txt> <request.txt> <available, e.g. 3,0,2>");
+            System.err.println("Matrix files hold one row per process, values separated by , or spaces");
+            System.exit(2);
+        }
+        try {
+            IntMatrix available = IntMatrix.parse(args[2], -1);
+            if (available.rows() != 1) throw new IllegalArgumentException("Available must be one row of values");
+            int m = available.cols();
+
+            long start = System.nanoTime();
+            IntMatrix alloc = read(Paths.get(args[0]), m), request = read(Paths.get(args[1]), m);
+            long parsed = System.nanoTime();
+            DeadlockDetector.Result res = DeadlockDetector.detect(alloc, request, available.row(0), Progress.NONE);
+            int[][] cycles = WaitForGraph.fromResources(alloc, request, available.row(0)).cycles();
+            long detected = System.nanoTime();
+
+            PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16));
+            out.printf("%d processes, %d resources, parse %d ms, detect %d ms%n", alloc.rows(), m,
+                    (parsed - start) / 1_000_000, (detected - parsed) / 1_000_000);
+            out.println(res.isDeadlocked() ? "Deadlocked: " + res.deadlocked.length : "No deadlock");
+            for (int p : res.deadlocked) {
+                out.print("P" + p + " waits for");
+                for (int j : res.waitingOn(p)) out.print(" R" + j);
+                out.println();
+            }
+            for (int[] cycle : cycles) {
+                out.print("Wait-for cycle:");
+                for (int p : cycle) out.print(" P" + p);
+                out.println();
+            }
+            out.flush();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static IntMatrix read(Path file, int cols) throws IOException {
+        try {
+            return IntMatrix.read(file, cols);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(file.getFileName() + ": " + e.getMessage());
+        }
+    }
+}
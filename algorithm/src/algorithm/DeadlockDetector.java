@@ -0,0 +1,65 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Deadlock detection for resources with several instances each. Given what
+// every process holds and what it is requesting right now, any process whose
+// request can be met runs to completion and returns its allocation; the
+// processes still holding something when no more requests fit are
+// deadlocked. Uses the same reduction as the Banker's safety search with
+// the request matrix in place of need.
+public class DeadlockDetector {
+
+    static class Result {
+        final int[] completed, deadlocked;
+        final long[] work;
+        private final IntMatrix request;
+
+        Result(int[] completed, int[] deadlocked, long[] work, IntMatrix request) {
+            this.completed = completed;
+            this.deadlocked = deadlocked;
+            this.work = work;
+            this.request = request;
+        }
+
+        boolean isDeadlocked() { return deadlocked.length > 0; }
+
+        // Resources process i asks for beyond what would ever become free.
+        int[] waitingOn(int i) {
+            int[] resources = new int[request.cols];
+            int count = 0;
+            for (int j = 0; j < request.cols; j++)
+                if (request.get(i, j) > work[j]) resources[count++] = j;
+            return Arrays.copyOf(resources, count);
+        }
+    }
+
+    public static Result detect(IntMatrix alloc, IntMatrix request, int[] available, Progress progress) {
+        int n = alloc.rows, m = available.length;
+        if (request.rows != n) throw new IllegalArgumentException("Allocation has " + n + " rows but Request has " + request.rows);
+        if (n > 0 && (alloc.cols != m || request.cols != m))
+            throw new IllegalArgumentException("Every row must have " + m + " values");
+
+        long[] work = new long[m];
+        for (int j = 0; j < m; j++) work[j] = available[j];
+        int[] order = new int[n];
+        int done = BankerState.reduce(n, m, alloc.data, request.data, work, new boolean[n], order, progress);
+
+        // A process that holds nothing cannot be part of a deadlock, even if
+        // its request never fits.
+        boolean[] completed = new boolean[n];
+        for (int t = 0; t < done; t++) completed[order[t]] = true;
+        int[] deadlocked = new int[n - done];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (completed[i]) continue;
+            for (int j = 0; j < m; j++) {
+                if (alloc.get(i, j) > 0) {
+                    deadlocked[count++] = i;
+                    break;
+                }
+            }
+        }
+        return new Result(Arrays.copyOf(order, done), Arrays.copyOf(deadlocked, count), work, request);
+    }
+}
@@ -0,0 +1,234 @@
+package algorithm;
+
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Disk array simulation. Logical block requests are mapped onto N disks by a
+// RAID layout, then every disk runs the chosen DiskPolicy on its own request
+// stream through DiskArrivalSimulator. Disks share nothing, so they are
+// simulated concurrently, except for RAID-5 writes, whose disks wait on each
+// other and step on one shared clock.
+public class DiskArray {
+    public static final String[] LAYOUTS = {"RAID-0", "RAID-1", "RAID-5"};
+
+    static class Result {
+        final DiskArrivalSimulator.Result[] disks;
+        final int[] ops;
+        final long totalSeek;
+        final double makespanMs, logicalIops, physicalIops, imbalance;
+
+        Result(DiskArrivalSimulator.Result[] disks, int[] ops, int logical, double makespanMs) {
+            this.disks = disks;
+            this.ops = ops;
+            this.makespanMs = makespanMs;
+            long seek = 0, physical = 0, max = 0;
+            for (int d = 0; d < disks.length; d++) {
+                seek += disks[d].total;
+                physical += ops[d];
+                max = Math.max(max, ops[d]);
+            }
+            this.totalSeek = seek;
+            this.logicalIops = makespanMs > 0 ? logical * 1000.0 / makespanMs : 0;
+            this.physicalIops = makespanMs > 0 ? physical * 1000.0 / makespanMs : 0;
+            // Busiest disk relative to the mean; 1.0 is a perfectly even spread.
+            this.imbalance = physical > 0 ? (double) max * disks.length / physical : 1;
+        }
+    }
+
+    // Per-disk request streams built by the layout. owner[d][k] is the RAID-5
+    // write whose read-modify-write needs request k of disk d, or -1.
+    private static class Streams {
+        final int[][] cylinders, arrivals, owner;
+        final boolean[][] writes;
+        final int[] size;
+
+        Streams(int disks, int expected) {
+            cylinders = new int[disks][Math.max(4, expected)];
+            arrivals = new int[disks][Math.max(4, expected)];
+            owner = new int[disks][Math.max(4, expected)];
+            writes = new boolean[disks][Math.max(4, expected)];
+            size = new int[disks];
+        }
+
+        // Returns the request's index in the disk's stream.
+        int add(int disk, int cylinder, int arrival, boolean write, int ownerWrite) {
+            int n = size[disk];
+            if (n == cylinders[disk].length) {
+                cylinders[disk] = Arrays.copyOf(cylinders[disk], n * 2);
+                arrivals[disk] = Arrays.copyOf(arrivals[disk], n * 2);
+                owner[disk] = Arrays.copyOf(owner[disk], n * 2);
+                writes[disk] = Arrays.copyOf(writes[disk], n * 2);
+            }
+            cylinders[disk][n] = cylinder;
+            arrivals[disk][n] = arrival;
+            owner[disk][n] = ownerWrite;
+            writes[disk][n] = write;
+            size[disk] = n + 1;
+            return n;
+        }
+
+        int add(int disk, int cylinder, int arrival, boolean write) {
+            return add(disk, cylinder, arrival, write, -1);
+        }
+    }
+
+    // blocks[i] is a logical block in 0..range. stripe is the number of blocks
+    // per chunk. RAID-1 mirrors every disk, sending reads round-robin and
+    // writes to all mirrors. RAID-5 rotates parity across the disks and turns
+    // each write into read-modify-write of the data and parity chunks: both
+    // old chunks are read first, and the new parity needs both, so the two
+    // writes are held until both reads have completed and arrive then
+    // (rounded up to a whole millisecond, like every arrival time).
+    public static Result run(String layout, int disks, int stripe, String algo, int[] blocks, int[] arrivals,
+                             boolean[] writes, int head, int range, String direction,
+                             DiskArrivalSimulator.DiskModel model, DiskArrivalSimulator.Tuning tuning, Progress progress) {
+        if (stripe <= 0) throw new IllegalArgumentException("Stripe unit must be positive");
+        int n = blocks.length;
+        if (arrivals.length != n) throw new IllegalArgumentException("Each request needs one arrival time");
+        if (writes == null) writes = new boolean[n];
+        int minDisks = switch (layout) {
+            case "RAID-0" -> 1;
+            case "RAID-1" -> 2;
+            case "RAID-5" -> 3;
+            default -> throw new IllegalArgumentException("Unknown layout: " + layout);
+        };
+        if (disks < minDisks) throw new IllegalArgumentException(layout + " needs at least " + minDisks + " disks");
+        int dataDisks = layout.equals("RAID-0") ? disks : layout.equals("RAID-1") ? 1 : disks - 1;
+
+        int diskRange = layout.equals("RAID-1") ? range : (range / (stripe * dataDisks) + 1) * stripe - 1;
+        Streams streams = new Streams(disks, n * 2 / disks + 1);
+        // Per RAID-5 write: data disk and index of its held write, then parity.
+        int[] rmw = new int[0];
+        int rmwCount = 0, reads = 0;
+        for (int i = 0; i < n; i++) {
+            int b = blocks[i];
+            if (b < 0 || b > range) throw new IllegalArgumentException("Request outside disk range: " + b);
+            if (layout.equals("RAID-1")) {
+                if (writes[i]) {
+                    for (int d = 0; d < disks; d++) streams.add(d, b, arrivals[i], true);
+                } else {
+                    streams.add(reads++ % disks, b, arrivals[i], false);
+                }
+                continue;
+            }
+            int chunk = b / stripe, row = chunk / dataDisks, cylinder = row * stripe + b % stripe;
+            int disk = chunk % dataDisks;
+            if (layout.equals("RAID-0")) {
+                streams.add(disk, cylinder, arrivals[i], writes[i]);
+                continue;
+            }
+            int parity = disks - 1 - row % disks;
+            if (disk >= parity) disk++;
+            if (!writes[i]) {
+                streams.add(disk, cylinder, arrivals[i], false);
+            } else {
+                if (rmwCount * 4 == rmw.length) rmw = Arrays.copyOf(rmw, Math.max(32, rmw.length * 2));
+                int at = rmwCount * 4;
+                for (int d : new int[]{disk, parity}) {
+                    streams.add(d, cylinder, arrivals[i], false, rmwCount);
+                    rmw[at++] = d;
+                    rmw[at++] = streams.add(d, cylinder, DiskArrivalSimulator.Disk.HELD, true);
+                }
+                rmwCount++;
+            }
+        }
+
+        int diskHead = (int) ((long) Math.max(0, Math.min(head, range)) * diskRange / Math.max(1, range));
+        DiskArrivalSimulator.Result[] results = rmwCount > 0
+                ? lockstep(streams, rmw, rmwCount, algo, diskHead, diskRange, direction, model, tuning, progress)
+                : concurrent(streams, algo, diskHead, diskRange, direction, model, tuning, progress);
+
+        // The array is done when its slowest disk is; all disks share one clock.
+        int first = Integer.MAX_VALUE;
+        for (int a : arrivals) first = Math.min(first, a);
+        double end = 0;
+        for (int d = 0; d < disks; d++) {
+            if (streams.size[d] == 0) continue;
+            int diskFirst = Integer.MAX_VALUE;
+            for (int k = 0; k < streams.size[d]; k++) diskFirst = Math.min(diskFirst, streams.arrivals[d][k]);
+            end = Math.max(end, diskFirst + results[d].makespanMs);
+        }
+        return new Result(results, streams.size, n, n > 0 ? end - first : 0);
+    }
+
+    private static DiskArrivalSimulator.Result[] concurrent(Streams streams, String algo, int diskHead, int diskRange,
+                                                            String direction, DiskArrivalSimulator.DiskModel model,
+                                                            DiskArrivalSimulator.Tuning tuning, Progress progress) {
+        int disks = streams.size.length;
+        Progress cancelOnly = (done, total) -> progress.update(0, 0);
+        AtomicInteger finished = new AtomicInteger();
+        List<Callable<DiskArrivalSimulator.Result>> jobs = new ArrayList<>();
+        for (int d = 0; d < disks; d++) {
+            int disk = d;
+            jobs.add(() -> {
+                int size = streams.size[disk];
+                DiskArrivalSimulator.Result res = DiskArrivalSimulator.run(algo,
+                        Arrays.copyOf(streams.cylinders[disk], size), Arrays.copyOf(streams.arrivals[disk], size),
+                        Arrays.copyOf(streams.writes[disk], size), diskHead, diskRange, direction, model, tuning, cancelOnly);
+                progress.update(finished.incrementAndGet(), disks);
+                return res;
+            });
+        }
+
+        DiskArrivalSimulator.Result[] results = new DiskArrivalSimulator.Result[disks];
+        try {
+            List<Future<DiskArrivalSimulator.Result>> futures = ForkJoinPool.commonPool().invokeAll(jobs);
+            for (int d = 0; d < disks; d++) results[d] = futures.get(d).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Array simulation interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    // Steps every disk on one clock, always the one with the earliest next
+    // decision, so a write released at time t is visible to its disk before
+    // that disk decides anything later than t. Released arrival times are
+    // written back into the streams.
+    private static DiskArrivalSimulator.Result[] lockstep(Streams streams, int[] rmw, int rmwCount, String algo, int diskHead,
+                                                          int diskRange, String direction, DiskArrivalSimulator.DiskModel model,
+                                                          DiskArrivalSimulator.Tuning tuning, Progress progress) {
+        int disks = streams.size.length;
+        DiskArrivalSimulator.Disk[] sims = new DiskArrivalSimulator.Disk[disks];
+        long total = 0;
+        for (int d = 0; d < disks; d++) {
+            int size = streams.size[d];
+            streams.arrivals[d] = Arrays.copyOf(streams.arrivals[d], size);
+            sims[d] = new DiskArrivalSimulator.Disk(algo, Arrays.copyOf(streams.cylinders[d], size), streams.arrivals[d],
+                    Arrays.copyOf(streams.writes[d], size), diskHead, diskRange, direction, model, tuning);
+            total += size;
+        }
+
+        // Reads still outstanding per write, and when the last one finished.
+        int[] pending = new int[rmwCount];
+        Arrays.fill(pending, 2);
+        double[] readAt = new double[rmwCount];
+        long served = 0;
+        while (served < total) {
+            int d = -1;
+            for (int k = 0; k < disks; k++)
+                if (sims[k].time() < (d < 0 ? Double.POSITIVE_INFINITY : sims[d].time())) d = k;
+            if (d < 0) throw new IllegalStateException(algo + " stalled with requests pending");
+
+            int done = sims[d].step();
+            if (done < 0) continue;
+            if ((++served & 0x3FF) == 0) progress.update(served, total);
+            int w = streams.owner[d][done];
+            if (w < 0) continue;
+            readAt[w] = Math.max(readAt[w], sims[d].time());
+            if (--pending[w] > 0) continue;
+            int ready = (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(readAt[w]));
+            sims[rmw[w * 4]].release(rmw[w * 4 + 1], ready);
+            sims[rmw[w * 4 + 2]].release(rmw[w * 4 + 3], ready);
+        }
+
+        DiskArrivalSimulator.Result[] results = new DiskArrivalSimulator.Result[disks];
+        for (int d = 0; d < disks; d++) results[d] = sims[d].result();
+        return results;
+    }
+}
@@ -0,0 +1,238 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Event-driven disk simulation shared by every DiskPolicy. Each request
+// arrives at its own time and only requests that have already arrived are
+// visible to the policy when the head picks its next target; an idle head
+// waits for the next arrival. A static batch is the case where every request
+// arrives at time 0.
+public class DiskArrivalSimulator {
+    public static final String[] ALGORITHMS = {"FCFS", "SSTF", "SCAN", "LOOK", "C-SCAN", "C-LOOK",
+        "N-Step SCAN", "F-SCAN", "Deadline", "Anticipatory"};
+
+    // Service time of one request: settle + per-cylinder seek when the head
+    // moves, plus the average rotational latency of half a revolution.
+    static class DiskModel {
+        final double settleMs, msPerCylinder, rpm;
+
+        DiskModel(double settleMs, double msPerCylinder, double rpm) {
+            if (settleMs < 0 || msPerCylinder < 0)
+                throw new IllegalArgumentException("Disk model seek times must be non-negative");
+            if (rpm <= 0) throw new IllegalArgumentException("Disk model rpm must be positive");
+            this.settleMs = settleMs;
+            this.msPerCylinder = msPerCylinder;
+            this.rpm = rpm;
+        }
+
+        double seekMs(long distance) {
+            return distance == 0 ? 0 : settleMs + distance * msPerCylinder;
+        }
+
+        double rotationMs() {
+            return 30_000.0 / rpm;
+        }
+    }
+
+    // Knobs for the policies that have them: N-step batch size, deadline
+    // read/write expiry and the anticipation window.
+    static class Tuning {
+        static final Tuning DEFAULT = new Tuning(4, 500, 5000, 6);
+
+        final int batch;
+        final double readExpireMs, writeExpireMs, anticipationMs;
+
+        Tuning(int batch, double readExpireMs, double writeExpireMs, double anticipationMs) {
+            this.batch = batch;
+            this.readExpireMs = readExpireMs;
+            this.writeExpireMs = writeExpireMs;
+            this.anticipationMs = anticipationMs;
+        }
+    }
+
+    static class Result {
+        final HeadPath path;
+        final long total;
+        final int served;
+        final double makespanMs, iops, meanResponseMs, maxWaitMs;
+        final double p50ResponseMs, p95ResponseMs, p99ResponseMs;
+
+        Result(HeadPath path, int served, double makespanMs, double meanResponseMs, double maxWaitMs, double[] sortedResponse) {
+            this.path = path;
+            this.total = path.distance();
+            this.served = served;
+            this.makespanMs = makespanMs;
+            this.iops = makespanMs > 0 ? served * 1000.0 / makespanMs : 0;
+            this.meanResponseMs = meanResponseMs;
+            this.maxWaitMs = maxWaitMs;
+            this.p50ResponseMs = percentile(sortedResponse, 0.50);
+            this.p95ResponseMs = percentile(sortedResponse, 0.95);
+            this.p99ResponseMs = percentile(sortedResponse, 0.99);
+        }
+    }
+
+    static DiskPolicy create(String algo, Tuning tuning) {
+        return switch (algo) {
+            case "FCFS" -> new FcfsDiskPolicy();
+            case "SSTF" -> new SstfDiskPolicy();
+            case "SCAN" -> new ScanDiskPolicy(true, false);
+            case "LOOK" -> new ScanDiskPolicy(false, false);
+            case "C-SCAN" -> new ScanDiskPolicy(true, true);
+            case "C-LOOK" -> new ScanDiskPolicy(false, true);
+            case "N-Step SCAN" -> new NStepScanPolicy(tuning.batch);
+            case "F-SCAN" -> new NStepScanPolicy(Integer.MAX_VALUE);
+            case "Deadline" -> new DeadlinePolicy(tuning.readExpireMs, tuning.writeExpireMs);
+            case "Anticipatory" -> new AnticipatoryPolicy(tuning.anticipationMs);
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algo);
+        };
+    }
+
+    // writes may be null when every request is a read.
+    public static Result run(String algo, int[] requests, int[] arrivals, boolean[] writes, int head, int range,
+                             String direction, DiskModel model, Tuning tuning, Progress progress) {
+        if (arrivals.length != requests.length) throw new IllegalArgumentException("Each request needs one arrival time");
+        for (int a : arrivals) if (a < 0) throw new IllegalArgumentException("Arrival times must not be negative");
+        Disk disk = new Disk(algo, requests, arrivals, writes, head, range, direction, model, tuning);
+        while (!disk.done()) {
+            if ((disk.served & 0x3FF) == 0) progress.update(disk.served, requests.length);
+            disk.step();
+        }
+        return disk.result();
+    }
+
+    // One disk's run, advanced one decision at a time so DiskArray can drive
+    // several disks on a shared clock. A request whose arrival is HELD stays
+    // invisible until release(i, time) gives it one; arrivals[] is updated in
+    // place, so the policy sees the released time too.
+    static class Disk {
+        static final int HELD = -1;
+
+        private final String algo;
+        private final int[] requests, arrivals, order;
+        private final DiskModel model;
+        private final DiskPolicy policy;
+        private final IndexedHeap released;
+        private final double rotation;
+        private final double[] response;
+        private final HeadPath path;
+        private final int n;
+        private int arrived, served, head, known, held;
+        private double now, maxWait, mean;
+        // Set while idle after a WAIT; a release may then wake the disk
+        // earlier than the time it jumped to, but not before idleFrom.
+        private boolean idle;
+        private double idleFrom;
+
+        Disk(String algo, int[] requests, int[] arrivals, boolean[] writes, int head, int range,
+             String direction, DiskModel model, Tuning tuning) {
+            n = requests.length;
+            if (arrivals.length != n) throw new IllegalArgumentException("Each request needs one arrival time");
+            if (writes == null) writes = new boolean[n];
+            if (head < 0 || head > range) throw new IllegalArgumentException("Head outside disk range: " + head);
+            for (int i = 0; i < n; i++) {
+                if (requests[i] < 0 || requests[i] > range) throw new IllegalArgumentException("Request outside disk range: " + requests[i]);
+                if (arrivals[i] < 0 && arrivals[i] != HELD) throw new IllegalArgumentException("Arrival times must not be negative");
+            }
+            this.algo = algo;
+            this.requests = requests;
+            this.arrivals = arrivals;
+            this.model = model;
+            this.head = head;
+            policy = create(algo, tuning);
+            policy.init(requests, arrivals, writes, range, direction.equals("Left to Right"));
+
+            // Request indices in arrival order, ties broken by input position;
+            // held requests join through the released heap instead.
+            long[] keyed = new long[n];
+            for (int i = 0; i < n; i++) if (arrivals[i] != HELD) keyed[known++] = (long) arrivals[i] << 32 | i;
+            Arrays.sort(keyed, 0, known);
+            held = n - known;
+            order = new int[known];
+            for (int i = 0; i < known; i++) order[i] = (int) keyed[i];
+            released = new IndexedHeap(n);
+
+            rotation = model.rotationMs();
+            response = new double[n];
+            path = new HeadPath(n + 3);
+            path.add(head);
+        }
+
+        boolean done() { return served == n; }
+
+        // Time of the next decision, which right after serving a request is its
+        // completion time; infinite while the disk waits for held requests.
+        double time() {
+            return done() ? Double.POSITIVE_INFINITY : now;
+        }
+
+        void release(int i, int time) {
+            if (arrivals[i] != HELD) throw new IllegalStateException("Request " + i + " is not held");
+            held--;
+            arrivals[i] = time;
+            released.add(i, time);
+            if (idle && time < now) now = Math.max(time, idleFrom);
+        }
+
+        // Next arrival in (time, index) order, or -1.
+        private int nextArrival() {
+            int a = arrived < known ? order[arrived] : -1;
+            if (released.isEmpty()) return a;
+            int b = released.peek();
+            return a < 0 || arrivals[b] < arrivals[a] || arrivals[b] == arrivals[a] && b < a ? b : a;
+        }
+
+        // Makes one decision. Returns the request served, or -1.
+        int step() {
+            for (int i = nextArrival(); i >= 0 && arrivals[i] <= now; i = nextArrival()) {
+                if (arrived < known && order[arrived] == i) arrived++;
+                else released.poll();
+                policy.arrive(i);
+            }
+            idle = false;
+
+            int next = policy.next(head, now);
+            if (next == DiskPolicy.WAIT) {
+                // Idle until the next arrival or until the policy stops waiting.
+                int upcoming = nextArrival();
+                double wake = upcoming >= 0 ? arrivals[upcoming] : Double.POSITIVE_INFINITY;
+                if (policy.wakeAt() > now) wake = Math.min(wake, policy.wakeAt());
+                if (wake == Double.POSITIVE_INFINITY && held == 0)
+                    throw new IllegalStateException(algo + " stalled with requests pending");
+                idle = true;
+                idleFrom = now;
+                now = wake;
+                return -1;
+            }
+            if (next < DiskPolicy.WAIT) {
+                int target = DiskPolicy.seekTarget(next);
+                now += model.seekMs(Math.abs(target - head));
+                head = target;
+                path.add(head);
+                return -1;
+            }
+
+            maxWait = Math.max(maxWait, now - arrivals[next]);
+            now += model.seekMs(Math.abs(requests[next] - head)) + rotation;
+            response[served++] = now - arrivals[next];
+            mean += (now - arrivals[next]) / n;
+            head = requests[next];
+            path.add(head);
+            policy.served(next, now);
+            return next;
+        }
+
+        Result result() {
+            double firstArrival = 0;
+            if (n > 0) firstArrival = Arrays.stream(arrivals).min().getAsInt();
+            Arrays.sort(response);
+            return new Result(path, n, now - firstArrival, mean, maxWait, response);
+        }
+    }
+
+    // Nearest-rank percentile of sorted values.
+    static double percentile(double[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
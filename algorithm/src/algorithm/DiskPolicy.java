@@ -0,0 +1,34 @@
+package algorithm;
+
+// A disk scheduling policy, driven by DiskArrivalSimulator. Requests are handed
+// over as they arrive; the simulator then repeatedly asks which one to serve.
+public interface DiskPolicy {
+    // Nothing to do until the next arrival or wakeAt().
+    int WAIT = -1;
+
+    // Called once before the run. writes[i] marks request i as a write.
+    void init(int[] cylinders, int[] arrivals, boolean[] writes, int range, boolean up);
+
+    // Request i has arrived and is now pending.
+    void arrive(int i);
+
+    // Returns the index of the next request to serve (removing it from the
+    // policy's queues), WAIT, or seekTo(c) to move the head without serving.
+    int next(int head, double now);
+
+    // Called when request i has been served at time now.
+    default void served(int i, double now) {}
+
+    // Time a waiting policy wants to be asked again even without an arrival.
+    default double wakeAt() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    static int seekTo(int cylinder) {
+        return -2 - cylinder;
+    }
+
+    static int seekTarget(int decision) {
+        return -2 - decision;
+    }
+}
@@ -0,0 +1,174 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Headless batch versions of the classic disk scheduling algorithms used by
+// DiskSchedulingGUI, where every request is known up front. Timed runs and the
+// newer schedulers go through DiskArrivalSimulator.
+public class DiskScheduler {
+    public static final String[] ALGORITHMS = {"FCFS", "SSTF", "SCAN", "LOOK", "C-SCAN", "C-LOOK"};
+
+    static class Result {
+        final HeadPath path;
+        final long total;
+
+        Result(HeadPath path) {
+            this.path = path;
+            this.total = path.distance();
+        }
+    }
+
+    public static Result run(String algo, int[] requests, int head, int range, String direction, Progress progress) {
+        return switch (algo) {
+            case "FCFS" -> fcfs(requests, head);
+            case "SSTF" -> sstf(requests, head, progress);
+            case "SCAN" -> scan(requests, head, range, direction);
+            case "LOOK" -> look(requests, head, direction);
+            case "C-SCAN" -> cscan(requests, head, range);
+            case "C-LOOK" -> clook(requests, head);
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algo);
+        };
+    }
+
+    static Result fcfs(int[] requests, int head) {
+        HeadPath path = new HeadPath(requests.length + 3);
+        path.add(head);
+        for (int r : requests) path.add(r);
+
+        return new Result(path);
+    }
+
+    // Requests are sorted into groups of equal cylinders. The serviced groups
+    // always form one contiguous run around the head, so the nearest pending
+    // request is either just left or just right of it. Equal distances go to
+    // the group holding the earliest request, as a linear scan would choose.
+    static Result sstf(int[] requests, int head, Progress progress) {
+        int n = requests.length;
+        long[] keyed = new long[n];
+        for (int i = 0; i < n; i++) keyed[i] = (long) requests[i] << 32 | i;
+        Arrays.sort(keyed);
+
+        int[] value = new int[n], count = new int[n], firstIndex = new int[n];
+        int groups = 0;
+        for (int i = 0; i < n; i++) {
+            int v = (int) (keyed[i] >> 32);
+            if (groups > 0 && value[groups - 1] == v) {
+                count[groups - 1]++;
+            } else {
+                value[groups] = v;
+                count[groups] = 1;
+                firstIndex[groups] = (int) keyed[i];
+                groups++;
+            }
+        }
+
+        int right = 0;
+        while (right < groups && value[right] < head) right++;
+        int left = right - 1;
+
+        HeadPath path = new HeadPath(requests.length + 3);
+        int served = 0;
+
+        path.add(head);
+        while (left >= 0 || right < groups) {
+            progress.update(served, n);
+            int g;
+            if (left < 0) {
+                g = right++;
+            } else if (right >= groups) {
+                g = left--;
+            } else {
+                long dl = (long) head - value[left], dr = (long) value[right] - head;
+                g = dl < dr || (dl == dr && firstIndex[left] < firstIndex[right]) ? left-- : right++;
+            }
+            head = value[g];
+            for (int k = 0; k < count[g]; k++) path.add(head);
+            served += count[g];
+        }
+
+        return new Result(path);
+    }
+
+    static Result scan(int[] requests, int head, int range, String direction) {
+        int[] sorted = sorted(requests);
+        int idx = split(sorted, head);
+        HeadPath path = new HeadPath(requests.length + 3);
+        path.add(head);
+
+        if (direction.equals("Left to Right")) {
+            visit(path, sorted, idx, sorted.length);
+            if (path.last() != range) path.add(range);
+            visit(path, sorted, idx - 1, -1);
+        } else {
+            visit(path, sorted, idx - 1, -1);
+            if (path.last() != 0) path.add(0);
+            visit(path, sorted, idx, sorted.length);
+        }
+
+        return new Result(path);
+    }
+
+    static Result look(int[] requests, int head, String direction) {
+        int[] sorted = sorted(requests);
+        int idx = split(sorted, head);
+        HeadPath path = new HeadPath(requests.length + 3);
+        path.add(head);
+
+        if (direction.equals("Left to Right")) {
+            visit(path, sorted, idx, sorted.length);
+            visit(path, sorted, idx - 1, -1);
+        } else {
+            visit(path, sorted, idx - 1, -1);
+            visit(path, sorted, idx, sorted.length);
+        }
+
+        return new Result(path);
+    }
+
+    static Result cscan(int[] requests, int head, int range) {
+        int[] sorted = sorted(requests);
+        int idx = split(sorted, head);
+        HeadPath path = new HeadPath(requests.length + 3);
+        path.add(head);
+
+        visit(path, sorted, idx, sorted.length);
+        if (path.last() != range) {
+            path.add(range);
+            path.add(0);
+        }
+        visit(path, sorted, 0, idx);
+
+        return new Result(path);
+    }
+
+    static Result clook(int[] requests, int head) {
+        int[] sorted = sorted(requests);
+        int idx = split(sorted, head);
+        HeadPath path = new HeadPath(requests.length + 3);
+        path.add(head);
+
+        visit(path, sorted, idx, sorted.length);
+        visit(path, sorted, 0, idx);
+
+        return new Result(path);
+    }
+
+    private static int[] sorted(int[] requests) {
+        int[] sorted = requests.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    // Index of the first request at or above the head.
+    private static int split(int[] sorted, int head) {
+        int idx = 0;
+        while (idx < sorted.length && sorted[idx] < head) idx++;
+        return idx;
+    }
+
+    // Moves the head over sorted[from] .. sorted[to - 1], or downwards when to < from.
+    private static void visit(HeadPath path, int[] sorted, int from, int to) {
+        int step = to < from ? -1 : 1;
+        for (int i = from; i != to; i += step) path.add(sorted[i]);
+    }
+}
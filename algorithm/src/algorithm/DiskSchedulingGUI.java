@@ -2,20 +2,38 @@ package algorithm;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.File;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 
 public class DiskSchedulingGUI extends JFrame {
      private final ImageIcon icon;
     private final JTextField requestField = new JTextField(15);
     private final JTextField headField = new JTextField(15);
     private final JTextField rangeField = new JTextField(15);
+    private final JTextField arrivalField = new JTextField(15);
+    private final JTextField modelField = new JTextField("2, 0.05, 7200", 15);
+    private final JTextField tuningField = new JTextField("4, 500, 5000, 6", 15);
+    private final JComboBox<String> layoutBox = new JComboBox<>(new String[]{"Single Disk", "RAID-0", "RAID-1", "RAID-5"});
+    private final JTextField arrayField = new JTextField("4, 8", 15);
     private final JComboBox<String> directionBox = new JComboBox<>(new String[]{"Left to Right", "Right to Left"});
     private final JTextArea outputArea = new JTextArea(20, 30);
-    private JComboBox<String> algoBox = new JComboBox<>(new String[]{"FCFS", "SSTF", "SCAN", "LOOK", "C-SCAN", "C-LOOK"});
+    private JComboBox<String> algoBox = new JComboBox<>(DiskArrivalSimulator.ALGORITHMS);
+
+    // Only one page of a long head path is formatted into the output area.
+    private static final int PAGE_SIZE = 500;
+    private final JButton prevButton = new JButton("< Prev");
+    private final JButton nextButton = new JButton("Next >");
+    private final JButton saveButton = new JButton("Save Movement");
+    private final JLabel pageLabel = new JLabel();
+    private HeadPath shownPath;
+    private String shownSummary;
+    private int page;
 
     public DiskSchedulingGUI() {
         setTitle("Disk Scheduling Algorithms");
-        setSize(800, 500);
+        setSize(800, 650);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
         setLayout(new BorderLayout(10, 10));
@@ -25,11 +43,11 @@ public class DiskSchedulingGUI extends JFrame {
 
         // Left Input Panel
         JPanel inputPanel = new JPanel();
-        inputPanel.setLayout(new GridLayout(10, 1, 5, 5));
+        inputPanel.setLayout(new GridLayout(20, 1, 5, 5));
         inputPanel.setBorder(BorderFactory.createTitledBorder("Inputs"));
         inputPanel.setBackground(new Color(255, 240, 240));
 
-        inputPanel.add(new JLabel("Requests (e.g. 95,180,34):"));
+        inputPanel.add(new JLabel("Requests (e.g. 95,180w,34):"));
         inputPanel.add(requestField);
 
         inputPanel.add(new JLabel("Initial Head Position:"));
@@ -38,6 +56,22 @@ public class DiskSchedulingGUI extends JFrame {
         inputPanel.add(new JLabel("Disk Range (0 to ?):"));
         inputPanel.add(rangeField);
 
+        // Arrival times switch to the timed simulation; blank means a static batch.
+        inputPanel.add(new JLabel("Arrival Times in ms (optional):"));
+        inputPanel.add(arrivalField);
+
+        inputPanel.add(new JLabel("Settle ms, ms/Cylinder, RPM:"));
+        inputPanel.add(modelField);
+
+        inputPanel.add(new JLabel("N-Step, Read/Write Expiry, Antic ms:"));
+        inputPanel.add(tuningField);
+
+        inputPanel.add(new JLabel("Disk Layout:"));
+        inputPanel.add(layoutBox);
+
+        inputPanel.add(new JLabel("Array Disks, Stripe Blocks:"));
+        inputPanel.add(arrayField);
+
         inputPanel.add(new JLabel("Direction:"));
         directionBox.setFont(new Font("Arial", Font.BOLD, 14));
         inputPanel.add(directionBox);
@@ -57,6 +91,17 @@ public class DiskSchedulingGUI extends JFrame {
         JScrollPane scrollPane = new JScrollPane(outputArea);
         outputPanel.add(scrollPane, BorderLayout.CENTER);
 
+        JPanel pagePanel = new JPanel();
+        pagePanel.add(prevButton);
+        pagePanel.add(pageLabel);
+        pagePanel.add(nextButton);
+        pagePanel.add(saveButton);
+        prevButton.addActionListener(e -> showPage(page - 1));
+        nextButton.addActionListener(e -> showPage(page + 1));
+        saveButton.addActionListener(e -> saveMovement());
+        outputPanel.add(pagePanel, BorderLayout.SOUTH);
+        showResult(null, null);
+
         add(outputPanel, BorderLayout.CENTER);
 
         // Bottom Panel with Run Button
@@ -71,205 +116,223 @@ public class DiskSchedulingGUI extends JFrame {
         });
 
         bottomPanel.add(runButton);
+
+        JButton compareButton = new JButton("Compare All");
+        compareButton.setFont(new Font("Arial", Font.BOLD, 16));
+        compareButton.setBackground(new Color(200, 220, 255));
+        compareButton.addActionListener(e -> compareAll());
+        bottomPanel.add(compareButton);
         add(bottomPanel, BorderLayout.SOUTH);
 
         setVisible(true);
     }
 
     private void runAlgorithm(String algo) {
-        try {
-            int[] requests = Arrays.stream(requestField.getText().split(","))
-                    .mapToInt(s -> Integer.parseInt(s.trim())).toArray();
-            int head = Integer.parseInt(headField.getText().trim());
-            int range = Integer.parseInt(rangeField.getText().trim());
-            String direction = (String) directionBox.getSelectedItem();
-
-            switch (algo) {
-                case "FCFS" -> fcfs(requests, head);
-                case "SSTF" -> sstf(requests, head);
-                case "SCAN" -> scan(requests, head, range, direction);
-                case "LOOK" -> look(requests, head, direction);
-                case "C-SCAN" -> cscan(requests, head, range);
-                case "C-LOOK" -> clook(requests, head);
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Invalid Input! Please check again.", "Error", JOptionPane.ERROR_MESSAGE);
+        String requestText = requestField.getText(), headText = headField.getText(), rangeText = rangeField.getText();
+        String arrivalText = arrivalField.getText(), modelText = modelField.getText(), tuningText = tuningField.getText();
+        String direction = (String) directionBox.getSelectedItem();
+        String layout = (String) layoutBox.getSelectedItem(), arrayText = arrayField.getText();
+
+        if (!layout.equals("Single Disk")) {
+            SimulationTask.start(this, "Simulating " + layout + " array", progress -> {
+                int[] requests = parseRequests(requestText);
+                int[] arrivals = parseArrivals(arrivalText, requests.length);
+                int head = Integer.parseInt(headText.trim());
+                int range = Integer.parseInt(rangeText.trim());
+                int[] array = parseArray(arrayText);
+
+                DiskArray.Result res = DiskArray.run(layout, array[0], array[1], algo, requests, arrivals, parseWrites(requestText),
+                        head, range, direction, parseModel(modelText), parseTuning(tuningText), progress);
+                return arrayReport(res, layout, algo);
+            }, text -> {
+                showResult(null, null);
+                outputArea.setText(text);
+            }, this::showFailure);
+            return;
         }
-    }
 
-    private void fcfs(int[] requests, int head) {
-        StringBuilder movement = new StringBuilder();
-        int total = 0;
-
-        movement.append(head);
-        for (int r : requests) {
-            total += Math.abs(r - head);
-            head = r;
-            movement.append(" -> ").append(head);
+        // Classic algorithms on a static batch keep the textbook head path;
+        // everything else goes through the timed simulation.
+        if (arrivalText.trim().isEmpty() && Arrays.asList(DiskScheduler.ALGORITHMS).contains(algo)) {
+            SimulationTask.start(this, "Running " + algo, progress -> {
+                int[] requests = parseRequests(requestText);
+                int head = Integer.parseInt(headText.trim());
+                int range = Integer.parseInt(rangeText.trim());
+
+                return DiskScheduler.run(algo, requests, head, range, direction, progress);
+            }, res -> showResult(res.path, "Total Seek Distance: " + res.total), this::showFailure);
+            return;
         }
 
-        outputArea.setText("Head Movement:\n" + movement + "\n\nTotal Seek Distance: " + total);
+        SimulationTask.start(this, "Simulating " + algo, progress -> {
+            int[] requests = parseRequests(requestText);
+            int[] arrivals = parseArrivals(arrivalText, requests.length);
+            int head = Integer.parseInt(headText.trim());
+            int range = Integer.parseInt(rangeText.trim());
+
+            return DiskArrivalSimulator.run(algo, requests, arrivals, parseWrites(requestText), head, range, direction,
+                    parseModel(modelText), parseTuning(tuningText), progress);
+        }, res -> showResult(res.path, String.format("Total Seek Distance: %d%nThroughput: %.1f IOPS%n"
+                + "Mean Response: %.2f ms%nResponse p50/p95/p99: %.2f / %.2f / %.2f ms%nMax Wait: %.2f ms",
+                res.total, res.iops, res.meanResponseMs, res.p50ResponseMs, res.p95ResponseMs, res.p99ResponseMs,
+                res.maxWaitMs)), this::showFailure);
     }
 
-    private void sstf(int[] requests, int head) {
-        StringBuilder movement = new StringBuilder();
-        boolean[] visited = new boolean[requests.length];
-        int total = 0;
-
-        movement.append(head);
-        for (int i = 0; i < requests.length; i++) {
-            int minDist = Integer.MAX_VALUE;
-            int idx = -1;
-            for (int j = 0; j < requests.length; j++) {
-                if (!visited[j] && Math.abs(requests[j] - head) < minDist) {
-                    minDist = Math.abs(requests[j] - head);
-                    idx = j;
-                }
-            }
-            visited[idx] = true;
-            total += Math.abs(requests[idx] - head);
-            head = requests[idx];
-            movement.append(" -> ").append(head);
-        }
-
-        outputArea.setText("Head Movement:\n" + movement + "\n\nTotal Seek Distance: " + total);
+    private void showResult(HeadPath path, String summary) {
+        shownPath = path;
+        shownSummary = summary;
+        showPage(0);
     }
 
-    private void scan(int[] requests, int head, int range, String direction) {
-        Arrays.sort(requests);
-        StringBuilder movement = new StringBuilder();
-        int total = 0;
-        int idx = 0;
-        while (idx < requests.length && requests[idx] < head) idx++;
-
-        movement.append(head);
-
-        if (direction.equals("Left to Right")) {
-            for (int i = idx; i < requests.length; i++) {
-                total += Math.abs(requests[i] - head);
-                head = requests[i];
-                movement.append(" -> ").append(head);
-            }
-            if (head != range) {
-                total += Math.abs(range - head);
-                head = range;
-                movement.append(" -> ").append(head);
-            }
-            for (int i = idx - 1; i >= 0; i--) {
-                total += Math.abs(requests[i] - head);
-                head = requests[i];
-                movement.append(" -> ").append(head);
-            }
-        } else {
-            for (int i = idx - 1; i >= 0; i--) {
-                total += Math.abs(requests[i] - head);
-                head = requests[i];
-                movement.append(" -> ").append(head);
-            }
-            if (head != 0) {
-                total += head;
-                head = 0;
-                movement.append(" -> ").append(head);
-            }
-            for (int i = idx; i < requests.length; i++) {
-                total += Math.abs(requests[i] - head);
-                head = requests[i];
-                movement.append(" -> ").append(head);
-            }
-        }
-
-        outputArea.setText("Head Movement:\n" + movement + "\n\nTotal Seek Distance: " + total);
+    private void showPage(int p) {
+        int steps = shownPath == null ? 0 : shownPath.size();
+        int pages = Math.max(1, (steps + PAGE_SIZE - 1) / PAGE_SIZE);
+        page = Math.max(0, Math.min(p, pages - 1));
+        prevButton.setEnabled(page > 0);
+        nextButton.setEnabled(page < pages - 1);
+        saveButton.setEnabled(shownPath != null);
+        pageLabel.setText(shownPath == null ? "" : "Page " + (page + 1) + " of " + pages);
+        if (shownPath == null) return;
+
+        int from = page * PAGE_SIZE, to = Math.min(steps, from + PAGE_SIZE);
+        String heading = pages == 1 ? "Head Movement:\n"
+                : "Head Movement (positions " + (from + 1) + "-" + to + " of " + steps + "):\n";
+        outputArea.setText(heading + shownPath.format(from, to) + "\n\n" + shownSummary);
+        outputArea.setCaretPosition(0);
     }
 
-    private void look(int[] requests, int head, String direction) {
-        Arrays.sort(requests);
-        StringBuilder movement = new StringBuilder();
-        int total = 0;
-        int idx = 0;
-        while (idx < requests.length && requests[idx] < head) idx++;
-
-        movement.append(head);
+    private void saveMovement() {
+        HeadPath path = shownPath;
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("head_movement.txt"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+
+        SimulationTask.start(this, "Saving head movement", progress -> {
+            path.writeTo(file.toPath(), progress);
+            return file;
+        }, f -> JOptionPane.showMessageDialog(this, "Saved " + path.size() + " positions to " + f.getName()),
+                e -> {
+                    if (e instanceof CancellationException) return;
+                    JOptionPane.showMessageDialog(this, "Could not write file: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                });
+    }
 
-        if (direction.equals("Left to Right")) {
-            for (int i = idx; i < requests.length; i++) {
-                total += Math.abs(requests[i] - head);
-                head = requests[i];
-                movement.append(" -> ").append(head);
-            }
-            for (int i = idx - 1; i >= 0; i--) {
-                total += Math.abs(requests[i] - head);
-                head = requests[i];
-                movement.append(" -> ").append(head);
-            }
-        } else {
-            for (int i = idx - 1; i >= 0; i--) {
-                total += Math.abs(requests[i] - head);
-                head = requests[i];
-                movement.append(" -> ").append(head);
-            }
-            for (int i = idx; i < requests.length; i++) {
-                total += Math.abs(requests[i] - head);
-                head = requests[i];
-                movement.append(" -> ").append(head);
+    private void compareAll() {
+        String requestText = requestField.getText(), headText = headField.getText(), rangeText = rangeField.getText();
+        String arrivalText = arrivalField.getText(), modelText = modelField.getText(), tuningText = tuningField.getText();
+        String direction = (String) directionBox.getSelectedItem();
+        String layout = (String) layoutBox.getSelectedItem(), arrayText = arrayField.getText();
+
+        SimulationTask.start(this, "Comparing algorithms", progress -> {
+            int[] requests = parseRequests(requestText);
+            int[] arrivals = parseArrivals(arrivalText, requests.length);
+            boolean[] writes = parseWrites(requestText);
+            int head = Integer.parseInt(headText.trim());
+            int range = Integer.parseInt(rangeText.trim());
+            DiskArrivalSimulator.DiskModel model = parseModel(modelText);
+            DiskArrivalSimulator.Tuning tuning = parseTuning(tuningText);
+            StringBuilder sb = new StringBuilder("Comparison of all algorithms:\n\n");
+
+            if (!layout.equals("Single Disk")) {
+                int[] array = parseArray(arrayText);
+                List<ComparisonRunner.Entry<DiskArray.Result>> entries = ComparisonRunner.compare(DiskArrivalSimulator.ALGORITHMS,
+                        (algo, p) -> DiskArray.run(layout, array[0], array[1], algo, requests, arrivals, writes,
+                                head, range, direction, model, tuning, p), progress);
+
+                sb.append(String.format("%-12s %10s %10s %12s %10s%n", "Algo", "Seek", "IOPS", "Makespan(ms)", "Imbalance"));
+                for (ComparisonRunner.Entry<DiskArray.Result> e : entries) {
+                    DiskArray.Result r = e.result;
+                    sb.append(String.format("%-12s %10d %10.1f %12.2f %10.2f%n", e.algorithm, r.totalSeek, r.logicalIops,
+                            r.makespanMs, r.imbalance));
+                }
+                return sb.toString();
             }
-        }
 
-        outputArea.setText("Head Movement:\n" + movement + "\n\nTotal Seek Distance: " + total);
+            // Same routing as a single run: classic algorithms on a static batch
+            // report the textbook head path and seek total only.
+            boolean batch = arrivalText.trim().isEmpty();
+            List<String> classic = Arrays.asList(DiskScheduler.ALGORITHMS);
+            List<ComparisonRunner.Entry<String>> entries = ComparisonRunner.compare(DiskArrivalSimulator.ALGORITHMS, (algo, p) -> {
+                if (batch && classic.contains(algo)) {
+                    DiskScheduler.Result r = DiskScheduler.run(algo, requests, head, range, direction, p);
+                    return String.format("%-12s %10d %8s %9s %9s %9s %9s %9s%n", algo, r.total, "-", "-", "-", "-", "-", "-");
+                }
+                DiskArrivalSimulator.Result r = DiskArrivalSimulator.run(algo, requests, arrivals, writes, head, range, direction,
+                        model, tuning, p);
+                return String.format("%-12s %10d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", algo, r.total, r.iops,
+                        r.meanResponseMs, r.p50ResponseMs, r.p95ResponseMs, r.p99ResponseMs, r.maxWaitMs);
+            }, progress);
+
+            sb.append(String.format("%-12s %10s %8s %9s %9s %9s %9s %9s%n",
+                    "Algo", "Seek", "IOPS", "Mean(ms)", "p50(ms)", "p95(ms)", "p99(ms)", "MaxWait"));
+            for (ComparisonRunner.Entry<String> e : entries) sb.append(e.result);
+            return sb.toString();
+        }, text -> {
+            showResult(null, null);
+            outputArea.setText(text);
+        }, this::showFailure);
     }
 
-    private void cscan(int[] requests, int head, int range) {
-        Arrays.sort(requests);
-        StringBuilder movement = new StringBuilder();
-        int total = 0;
-        int idx = 0;
-        while (idx < requests.length && requests[idx] < head) idx++;
-
-        movement.append(head);
-
-        for (int i = idx; i < requests.length; i++) {
-            total += Math.abs(requests[i] - head);
-            head = requests[i];
-            movement.append(" -> ").append(head);
+    private static String arrayReport(DiskArray.Result res, String layout, String algo) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s array, %d disks, %s%n%n", layout, res.disks.length, algo));
+        sb.append(String.format("%-5s %8s %12s %9s %9s%n", "Disk", "Ops", "Seek", "Mean(ms)", "p99(ms)"));
+        for (int d = 0; d < res.disks.length; d++) {
+            DiskArrivalSimulator.Result r = res.disks[d];
+            sb.append(String.format("%-5d %8d %12d %9.2f %9.2f%n", d, res.ops[d], r.total, r.meanResponseMs, r.p99ResponseMs));
         }
+        sb.append(String.format("%nTotal Seek Distance: %d%nThroughput: %.1f IOPS (%.1f disk IOPS)%n"
+                + "Makespan: %.2f ms%nLoad Imbalance: %.2f (busiest disk / mean)",
+                res.totalSeek, res.logicalIops, res.physicalIops, res.makespanMs, res.imbalance));
+        return sb.toString();
+    }
 
-        if (head != range) {
-            total += Math.abs(range - head);
-            head = 0;
-            total += range;
-            movement.append(" -> ").append(range).append(" -> 0");
-        }
+    // Requests may carry an r/w suffix (e.g. 180w); plain numbers are reads.
+    private static int[] parseRequests(String text) {
+        return Arrays.stream(text.split(",")).mapToInt(s -> Integer.parseInt(s.trim().replaceFirst("[rRwW]$", ""))).toArray();
+    }
 
-        for (int i = 0; i < idx; i++) {
-            total += Math.abs(requests[i] - head);
-            head = requests[i];
-            movement.append(" -> ").append(head);
-        }
+    private static boolean[] parseWrites(String text) {
+        String[] parts = text.split(",");
+        boolean[] writes = new boolean[parts.length];
+        for (int i = 0; i < parts.length; i++) writes[i] = parts[i].trim().toLowerCase().endsWith("w");
+        return writes;
+    }
 
-        outputArea.setText("Head Movement:\n" + movement + "\n\nTotal Seek Distance: " + total);
+    // Blank arrival times mean the whole batch arrives at time 0.
+    private static int[] parseArrivals(String text, int count) {
+        if (text.trim().isEmpty()) return new int[count];
+        return Arrays.stream(text.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
     }
 
-    private void clook(int[] requests, int head) {
-        Arrays.sort(requests);
-        StringBuilder movement = new StringBuilder();
-        int total = 0;
-        int idx = 0;
-        while (idx < requests.length && requests[idx] < head) idx++;
+    private static DiskArrivalSimulator.DiskModel parseModel(String text) {
+        String[] parts = text.split(",");
+        if (parts.length != 3) throw new IllegalArgumentException("Expected settle ms, ms per cylinder and RPM");
+        return new DiskArrivalSimulator.DiskModel(Double.parseDouble(parts[0].trim()),
+                Double.parseDouble(parts[1].trim()), Double.parseDouble(parts[2].trim()));
+    }
 
-        movement.append(head);
+    private static int[] parseArray(String text) {
+        int[] array = Arrays.stream(text.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+        if (array.length != 2) throw new IllegalArgumentException("Expected disk count and stripe unit");
+        return array;
+    }
 
-        for (int i = idx; i < requests.length; i++) {
-            total += Math.abs(requests[i] - head);
-            head = requests[i];
-            movement.append(" -> ").append(head);
-        }
+    private static DiskArrivalSimulator.Tuning parseTuning(String text) {
+        String[] parts = text.split(",");
+        if (parts.length != 4) throw new IllegalArgumentException("Expected N-step batch, read and write expiry, anticipation window");
+        return new DiskArrivalSimulator.Tuning(Integer.parseInt(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+    }
 
-        for (int i = 0; i < idx; i++) {
-            total += Math.abs(requests[i] - head);
-            head = requests[i];
-            movement.append(" -> ").append(head);
+    private void showFailure(Throwable e) {
+        if (e instanceof CancellationException) {
+            showResult(null, null);
+            outputArea.setText("Simulation cancelled.");
+            return;
         }
-
-        outputArea.setText("Head Movement:\n" + movement + "\n\nTotal Seek Distance: " + total);
+        JOptionPane.showMessageDialog(this, "Invalid Input! Please check again.", "Error", JOptionPane.ERROR_MESSAGE);
     }
 
     public static void main(String[] args) {
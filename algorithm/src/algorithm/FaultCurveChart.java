@@ -0,0 +1,51 @@
+package algorithm;
+
+import javax.swing.*;
+import java.awt.*;
+
+// Line chart of page faults against the number of frames.
+public class FaultCurveChart extends JPanel {
+    private static final int MARGIN = 50;
+    private final long[] faults;
+
+    // faults[f] for f = 1..faults.length - 1, as produced by StackDistance
+    public FaultCurveChart(long[] faults) {
+        this.faults = faults;
+        setPreferredSize(new Dimension(600, 300));
+        setBackground(Color.WHITE);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int w = getWidth() - 2 * MARGIN, h = getHeight() - 2 * MARGIN;
+        int maxFrames = faults.length - 1;
+        if (w <= 0 || h <= 0 || maxFrames < 1) return;
+        long maxFaults = Math.max(1, faults[1]);
+
+        g2.setColor(Color.BLACK);
+        g2.drawLine(MARGIN, MARGIN, MARGIN, MARGIN + h);
+        g2.drawLine(MARGIN, MARGIN + h, MARGIN + w, MARGIN + h);
+        g2.drawString("Frames", MARGIN + w / 2 - 20, MARGIN + h + 35);
+        g2.drawString("Faults", 5, MARGIN - 10);
+        g2.drawString(String.valueOf(maxFaults), 5, MARGIN + 5);
+        g2.drawString("0", MARGIN - 15, MARGIN + h + 5);
+        g2.drawString("1", MARGIN, MARGIN + h + 18);
+        g2.drawString(String.valueOf(maxFrames), MARGIN + w - 20, MARGIN + h + 18);
+
+        // one sample per pixel column keeps painting cheap for huge curves
+        g2.setColor(new Color(200, 0, 80));
+        int prevX = -1, prevY = -1;
+        for (int px = 0; px <= w; px++) {
+            int f = maxFrames == 1 ? 1 : 1 + (int) ((long) px * (maxFrames - 1) / w);
+            int x = MARGIN + px;
+            int y = MARGIN + h - (int) (faults[f] * h / maxFaults);
+            if (prevX >= 0) g2.drawLine(prevX, prevY, x, y);
+            prevX = x;
+            prevY = y;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package algorithm;
+
+// First-come, first-served: requests are served in arrival order.
+public class FcfsDiskPolicy implements DiskPolicy {
+    private int[] queue;
+    private int head, tail;
+
+    @Override
+    public void init(int[] cylinders, int[] arrivals, boolean[] writes, int range, boolean up) {
+        queue = new int[cylinders.length];
+    }
+
+    @Override
+    public void arrive(int i) {
+        queue[tail++] = i;
+    }
+
+    @Override
+    public int next(int cylinder, double now) {
+        return head == tail ? WAIT : queue[head++];
+    }
+}
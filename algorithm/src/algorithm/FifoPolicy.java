@@ -0,0 +1,20 @@
+package algorithm;
+
+// First-in, first-out: evicts the page that has been resident longest.
+public class FifoPolicy implements ReplacementPolicy {
+    private PageLists memory;
+    private int frames;
+
+    @Override
+    public void init(int[] pages, int frames) {
+        this.frames = frames;
+        memory = new PageLists(frames, 1);
+    }
+
+    @Override
+    public int reference(int i, int page) {
+        if (memory.find(page) != PageLists.NONE) return HIT;
+        if (memory.size(0) == frames) memory.remove(memory.oldest(0));
+        return memory.add(page, 0);
+    }
+}
@@ -0,0 +1,57 @@
+package algorithm;
+
+import javax.swing.table.AbstractTableModel;
+
+// Table model over a PageStepLog. Rows are rebuilt only when the JTable asks
+// for them; the last row is cached so scrolling forward replays one step.
+public class FrameTableModel extends AbstractTableModel {
+    private final PageStepLog log;
+    private final int frames;
+    private final int[] rowFrames;
+    private int cachedRow = -1, cachedUsed;
+
+    public FrameTableModel(PageStepLog log) {
+        this.log = log;
+        this.frames = log.frames();
+        this.rowFrames = new int[frames];
+    }
+
+    @Override
+    public int getRowCount() {
+        return log.steps();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return frames + 2;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        if (column == 0) return "Page";
+        if (column == frames + 1) return "Status";
+        return "Frame " + column;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (column == 0) return log.page(row);
+        if (column == frames + 1) return log.isHit(row) ? "Hit" : "Page Fault";
+        load(row);
+        return column - 1 < cachedUsed ? (Object) rowFrames[column - 1] : "";
+    }
+
+    private void load(int row) {
+        if (row == cachedRow) return;
+        if (row == cachedRow + 1) {
+            int s = log.slot(row);
+            if (s >= 0) {
+                rowFrames[s] = log.page(row);
+                cachedUsed = Math.max(cachedUsed, s + 1);
+            }
+        } else {
+            cachedUsed = log.framesAt(row, rowFrames);
+        }
+        cachedRow = row;
+    }
+}
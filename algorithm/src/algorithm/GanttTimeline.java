@@ -0,0 +1,52 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Run-length Gantt chart: one (pid, start, end) segment per context switch,
+// stored in parallel arrays. A pid of -1 marks an idle segment.
+public class GanttTimeline {
+    public static final int IDLE = -1;
+
+    private int[] pid = new int[16];
+    private long[] start = new long[16];
+    private long[] end = new long[16];
+    private int size;
+
+    // Appends [from, to) for the given pid, extending the last segment when it
+    // is the same pid and touches it.
+    public void add(int id, long from, long to) {
+        if (to <= from) return;
+        if (size > 0 && pid[size - 1] == id && end[size - 1] == from) {
+            end[size - 1] = to;
+            return;
+        }
+        if (size == pid.length) {
+            int cap = size * 2;
+            pid = Arrays.copyOf(pid, cap);
+            start = Arrays.copyOf(start, cap);
+            end = Arrays.copyOf(end, cap);
+        }
+        pid[size] = id;
+        start[size] = from;
+        end[size] = to;
+        size++;
+    }
+
+    public int size() { return size; }
+    public int pid(int i) { return pid[i]; }
+    public long start(int i) { return start[i]; }
+    public long end(int i) { return end[i]; }
+
+    public long endTime() {
+        return size == 0 ? 0 : end[size - 1];
+    }
+
+    public String render() {
+        StringBuilder sb = new StringBuilder("|");
+        for (int i = 0; i < size; i++) {
+            sb.append(pid[i] == IDLE ? " Idle" : " P" + pid[i])
+              .append(" (").append(start[i]).append('-').append(end[i]).append(") |");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package algorithm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+
+// Sequence of head positions visited by a disk scheduling run, kept as a
+// growable int array instead of a formatted string.
+public class HeadPath {
+    private int[] positions;
+    private int size;
+    private long distance;
+
+    public HeadPath(int expected) {
+        positions = new int[Math.max(4, expected)];
+    }
+
+    public void add(int cylinder) {
+        if (size == positions.length) positions = Arrays.copyOf(positions, size * 2);
+        if (size > 0) distance += Math.abs((long) cylinder - positions[size - 1]);
+        positions[size++] = cylinder;
+    }
+
+    public int size() { return size; }
+    public int get(int i) { return positions[i]; }
+    public int last() { return positions[size - 1]; }
+
+    // Total seek distance along the path.
+    public long distance() { return distance; }
+
+    // Formats positions [from, to) as "a -> b -> c".
+    public String format(int from, int to) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            if (i > from) sb.append(" -> ");
+            sb.append(positions[i]);
+        }
+        return sb.toString();
+    }
+
+    // Writes every position, one per line, through a buffered file channel.
+    public void writeTo(Path out, Progress progress) throws IOException {
+        try (FileChannel ch = FileChannel.open(out, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 << 16);
+            byte[] digits = new byte[12];
+            for (int i = 0; i < size; i++) {
+                if ((i & 0xFFFF) == 0) progress.update(i, size);
+                if (buf.remaining() < digits.length) flush(ch, buf);
+                long v = positions[i];
+                if (v < 0) {
+                    buf.put((byte) '-');
+                    v = -v;
+                }
+                int len = 0;
+                do {
+                    digits[len++] = (byte) ('0' + v % 10);
+                    v /= 10;
+                } while (v > 0);
+                while (len > 0) buf.put(digits[--len]);
+                buf.put((byte) '\n');
+            }
+            flush(ch, buf);
+        }
+    }
+
+    private static void flush(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+    }
+}
@@ -0,0 +1,96 @@
+package algorithm;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// Binary min-heap over the indices 0..capacity-1, each with a long key; ties
+// go to the lower index. pos[] records where every index sits in the heap,
+// so changing a key (decrease-key or increase-key) or removing an index is
+// O(log n) with no search, and each index is in the heap at most once.
+public class IndexedHeap {
+    private final int[] heap, pos;
+    private final long[] key;
+    private int size;
+
+    public IndexedHeap(int capacity) {
+        heap = new int[capacity];
+        pos = new int[capacity];
+        key = new long[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public boolean contains(int i) { return pos[i] >= 0; }
+    public long key(int i) { return key[i]; }
+
+    public int peek() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+        return heap[0];
+    }
+
+    public int poll() {
+        int i = peek();
+        remove(i);
+        return i;
+    }
+
+    public void add(int i, long k) {
+        if (pos[i] >= 0) throw new IllegalStateException("Index " + i + " is already in the heap");
+        key[i] = k;
+        heap[size] = i;
+        pos[i] = size;
+        up(size++);
+    }
+
+    // Gives i a new key and moves it up or down to match.
+    public void update(int i, long k) {
+        long old = key[i];
+        key[i] = k;
+        if (k < old) up(pos[i]);
+        else down(pos[i]);
+    }
+
+    public void remove(int i) {
+        int at = pos[i];
+        int last = heap[--size];
+        pos[i] = -1;
+        if (at == size) return;
+        heap[at] = last;
+        pos[last] = at;
+        up(at);
+        down(pos[last]);
+    }
+
+    private boolean less(int a, int b) {
+        return key[a] < key[b] || key[a] == key[b] && a < b;
+    }
+
+    private void up(int at) {
+        int i = heap[at];
+        while (at > 0) {
+            int parent = (at - 1) >>> 1;
+            if (!less(i, heap[parent])) break;
+            heap[at] = heap[parent];
+            pos[heap[at]] = at;
+            at = parent;
+        }
+        heap[at] = i;
+        pos[i] = at;
+    }
+
+    private void down(int at) {
+        int i = heap[at];
+        while (true) {
+            int child = 2 * at + 1;
+            if (child >= size) break;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) child++;
+            if (!less(heap[child], i)) break;
+            heap[at] = heap[child];
+            pos[heap[at]] = at;
+            at = child;
+        }
+        heap[at] = i;
+        pos[i] = at;
+    }
+}
@@ -0,0 +1,59 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Fixed-capacity int -> int hash map with open addressing and linear probing.
+// Deletes shift later entries back instead of leaving tombstones, so lookups
+// stay short however many puts and removes a long trace performs.
+public class IntIntMap {
+    public static final int MISSING = -1;
+
+    private final int[] keys, values;
+    private final int mask, shift;
+
+    // Values must be non-negative; capacity is the most entries held at once.
+    public IntIntMap(int capacity) {
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        keys = new int[tableSize];
+        values = new int[tableSize];
+        Arrays.fill(values, MISSING);
+        mask = tableSize - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(tableSize);
+    }
+
+    public int get(int key) {
+        for (int i = hash(key); values[i] != MISSING; i = (i + 1) & mask)
+            if (keys[i] == key) return values[i];
+        return MISSING;
+    }
+
+    public void put(int key, int value) {
+        int i = hash(key);
+        while (values[i] != MISSING && keys[i] != key) i = (i + 1) & mask;
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    public void remove(int key) {
+        int i = hash(key);
+        while (values[i] != MISSING && keys[i] != key) i = (i + 1) & mask;
+        if (values[i] == MISSING) return;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == MISSING) break;
+            int home = hash(keys[j]);
+            boolean movable = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+            if (movable) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        values[i] = MISSING;
+    }
+
+    private int hash(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+}
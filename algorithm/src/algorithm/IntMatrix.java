@@ -0,0 +1,132 @@
+package algorithm;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+
+// Dense row-major matrix of non-negative ints backed by one array.
+// Text form: values separated by ',' or whitespace, rows by ';' or a line
+// break, '#' starts a comment and blank rows are skipped. Parsing is a single
+// pass over the bytes and errors name the 1-based row and column.
+public class IntMatrix {
+    final int rows, cols;
+    final int[] data;
+
+    public IntMatrix(int rows, int cols) {
+        this(rows, cols, new int[rows * cols]);
+    }
+
+    IntMatrix(int rows, int cols, int[] data) {
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+
+    public static IntMatrix of(int[][] values) {
+        int cols = values.length == 0 ? 0 : values[0].length;
+        IntMatrix matrix = new IntMatrix(values.length, cols);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].length != cols) throw new IllegalArgumentException("Row " + (i + 1) + " has " + values[i].length + " values, expected " + cols);
+            System.arraycopy(values[i], 0, matrix.data, i * cols, cols);
+        }
+        return matrix;
+    }
+
+    public int rows() { return rows; }
+    public int cols() { return cols; }
+    public int get(int r, int c) { return data[r * cols + c]; }
+    public void set(int r, int c, int value) { data[r * cols + c] = value; }
+
+    public int[] row(int r) {
+        return Arrays.copyOfRange(data, r * cols, r * cols + cols);
+    }
+
+    public IntMatrix copy() {
+        return new IntMatrix(rows, cols, data.clone());
+    }
+
+    // Rows, then values, in the text form accepted by parse.
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < rows; r++) {
+            if (r > 0) sb.append("; ");
+            for (int c = 0; c < cols; c++) {
+                if (c > 0) sb.append(", ");
+                sb.append(data[r * cols + c]);
+            }
+        }
+        return sb.toString();
+    }
+
+    // cols < 0 takes the width from the first row.
+    public static IntMatrix parse(String text, int cols) {
+        try {
+            return parse(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), cols);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static IntMatrix read(Path file, int cols) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return parse(in, cols);
+        }
+    }
+
+    static IntMatrix parse(InputStream in, int cols) throws IOException {
+        byte[] buf = new byte[1 << 16];
+        int[] data = new int[1024];
+        int size = 0, rows = 0, col = 0, len = 0, pos = 0;
+        long value = 0;
+        boolean inNumber = false, comment = false;
+
+        while (true) {
+            if (pos == len) {
+                len = in.read(buf);
+                pos = 0;
+            }
+            int c = len <= 0 ? -1 : buf[pos++] & 0xFF;
+            if (comment && c != '\n' && c != -1) continue;
+            comment = false;
+
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE) throw error(rows, col, "number is too large");
+                inNumber = true;
+                continue;
+            }
+            if (inNumber) {
+                if (cols >= 0 && col == cols) throw error(rows, col, "row has more than " + cols + " values");
+                if (size == data.length) data = Arrays.copyOf(data, size * 2);
+                data[size++] = (int) value;
+                col++;
+                value = 0;
+                inNumber = false;
+            }
+
+            if (c == '\n' || c == ';' || c == -1) {
+                if (col > 0) {
+                    if (cols < 0) cols = col;
+                    if (col != cols) throw new IllegalArgumentException("Row " + (rows + 1) + " has " + col + " values, expected " + cols);
+                    rows++;
+                    col = 0;
+                }
+                if (c == -1) break;
+            } else if (c == ',' || c == ' ' || c == '\t' || c == '\r') {
+                // separator
+            } else if (c == '#') {
+                comment = true;
+            } else if (c == '-') {
+                throw error(rows, col, "values must not be negative");
+            } else {
+                throw error(rows, col, "unexpected '" + (char) (c & 0xFF) + "'");
+            }
+        }
+        return new IntMatrix(rows, Math.max(cols, 0), Arrays.copyOf(data, size));
+    }
+
+    private static IllegalArgumentException error(int row, int col, String message) {
+        return new IllegalArgumentException("Row " + (row + 1) + ", column " + (col + 1) + ": " + message);
+    }
+}
@@ -0,0 +1,54 @@
+package algorithm;
+
+// Fixed-size log-linear histogram of non-negative long values, in the style of
+// HdrHistogram. Values below 2^SUB_BITS get a bucket each; above that every
+// power of two is split into 2^SUB_BITS equal buckets, so a recorded value
+// is known to within 1 / 2^SUB_BITS (under 1%) whatever its size. The whole
+// long range fits in a few thousand counters, however many values are
+// recorded. Count, sum, min and max are kept exactly.
+public class LatencyHistogram {
+    private static final int SUB_BITS = 7, SUB = 1 << SUB_BITS;
+
+    private final long[] counts = new long[(63 - SUB_BITS + 1) * SUB];
+    private long count, sum;
+    private long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+
+    public void record(long value) {
+        if (value < 0) throw new IllegalArgumentException("Histogram values must not be negative: " + value);
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public long count() { return count; }
+    public long min() { return count == 0 ? 0 : min; }
+    public long max() { return count == 0 ? 0 : max; }
+    public double mean() { return count == 0 ? 0 : (double) sum / count; }
+
+    // Nearest-rank percentile, reported as the highest value its bucket can
+    // hold (never above the recorded maximum).
+    public long percentile(double p) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p * count)), seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(max, highest(i));
+        }
+        return max;
+    }
+
+    private static int index(long value) {
+        if (value < SUB) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB + (int) (value >>> shift) - SUB;
+    }
+
+    private static long highest(int index) {
+        if (index < SUB) return index;
+        int shift = index / SUB - 1;
+        long low = (long) (SUB + index % SUB) << shift;
+        return low + ((1L << shift) - 1);
+    }
+}
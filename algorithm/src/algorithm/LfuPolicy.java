@@ -0,0 +1,70 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Least frequently used with O(1) frequency buckets: each use count has its own
+// list of frames (oldest first), and the lowest non-empty count is tracked, so
+// ties go to the least recently used page of that count.
+public class LfuPolicy implements ReplacementPolicy {
+    private static final int NONE = -1;
+
+    private IntIntMap slotOf;
+    private int[] slotPage, freq, prev, next;
+    private int[] bucketHead, bucketTail;
+    private int frames, used, minFreq;
+
+    @Override
+    public void init(int[] pages, int frames) {
+        this.frames = frames;
+        slotOf = new IntIntMap(frames);
+        slotPage = new int[frames];
+        freq = new int[frames];
+        prev = new int[frames];
+        next = new int[frames];
+        // a count can never exceed the number of references
+        bucketHead = new int[pages.length + 2];
+        bucketTail = new int[pages.length + 2];
+        Arrays.fill(bucketHead, NONE);
+        Arrays.fill(bucketTail, NONE);
+    }
+
+    @Override
+    public int reference(int i, int page) {
+        int slot = slotOf.get(page);
+        if (slot != IntIntMap.MISSING) {
+            int f = freq[slot];
+            unlink(slot);
+            if (bucketHead[f] == NONE && minFreq == f) minFreq = f + 1;
+            freq[slot] = f + 1;
+            link(slot);
+            return HIT;
+        }
+        if (used < frames) {
+            slot = used++;
+        } else {
+            slot = bucketHead[minFreq];
+            unlink(slot);
+            slotOf.remove(slotPage[slot]);
+        }
+        slotPage[slot] = page;
+        slotOf.put(page, slot);
+        freq[slot] = 1;
+        link(slot);
+        minFreq = 1;
+        return slot;
+    }
+
+    private void link(int slot) {
+        int f = freq[slot];
+        prev[slot] = bucketTail[f];
+        next[slot] = NONE;
+        if (bucketTail[f] != NONE) next[bucketTail[f]] = slot; else bucketHead[f] = slot;
+        bucketTail[f] = slot;
+    }
+
+    private void unlink(int slot) {
+        int f = freq[slot];
+        if (prev[slot] != NONE) next[prev[slot]] = next[slot]; else bucketHead[f] = next[slot];
+        if (next[slot] != NONE) prev[next[slot]] = prev[slot]; else bucketTail[f] = prev[slot];
+    }
+}
@@ -0,0 +1,24 @@
+package algorithm;
+
+// Least recently used: hits move a page to the newest end of the list.
+public class LruPolicy implements ReplacementPolicy {
+    private PageLists cache;
+    private int frames;
+
+    @Override
+    public void init(int[] pages, int frames) {
+        this.frames = frames;
+        cache = new PageLists(frames, 1);
+    }
+
+    @Override
+    public int reference(int i, int page) {
+        int e = cache.find(page);
+        if (e != PageLists.NONE) {
+            cache.moveToNewest(e, 0); // make it most recently used
+            return HIT;
+        }
+        if (cache.size(0) == frames) cache.remove(cache.oldest(0));
+        return cache.add(page, 0);
+    }
+}
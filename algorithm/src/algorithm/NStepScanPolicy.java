@@ -0,0 +1,37 @@
+package algorithm;
+
+// N-step SCAN: arrivals wait in a FIFO and the elevator only sweeps over a
+// frozen batch of at most N of them, so new requests cannot starve old ones.
+// With an unbounded batch this is F-SCAN: everything that arrived during a
+// sweep is served together in the next one.
+public class NStepScanPolicy extends ScanDiskPolicy {
+    private final int batch;
+    private int[] staged;
+    private int head, tail;
+
+    public NStepScanPolicy(int batch) {
+        super(true, false);
+        if (batch <= 0) throw new IllegalArgumentException("Batch size must be positive");
+        this.batch = batch;
+    }
+
+    @Override
+    public void init(int[] cylinders, int[] arrivals, boolean[] writes, int range, boolean up) {
+        super.init(cylinders, arrivals, writes, range, up);
+        staged = new int[cylinders.length];
+        head = tail = 0;
+    }
+
+    @Override
+    public void arrive(int i) {
+        staged[tail++] = i;
+    }
+
+    @Override
+    public int next(int cylinder, double now) {
+        if (pending.isEmpty()) {
+            for (int k = 0; k < batch && head < tail; k++) pending.add(staged[head++]);
+        }
+        return super.next(cylinder, now);
+    }
+}
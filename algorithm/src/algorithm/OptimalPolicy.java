@@ -0,0 +1,109 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Belady's OPT. One backward pass records, for every reference, where its page
+// is used next; resident frames sit in a max-heap keyed by that next use, so
+// each victim is found in O(log frames).
+public class OptimalPolicy implements ReplacementPolicy {
+    private int[] ids, next, memoryIds, slotOf;
+    private NextUseHeap heap;
+    private int n, frames, used;
+
+    @Override
+    public void init(int[] pages, int frames) {
+        this.frames = frames;
+        n = pages.length;
+        ids = PageReplacement.denseIds(pages);
+        int distinct = 0;
+        for (int id : ids) distinct = Math.max(distinct, id + 1);
+
+        next = new int[n];
+        int[] seen = new int[distinct];
+        Arrays.fill(seen, n);
+        for (int i = n - 1; i >= 0; i--) {
+            next[i] = seen[ids[i]];
+            seen[ids[i]] = i;
+        }
+
+        memoryIds = new int[frames];
+        slotOf = new int[distinct];
+        Arrays.fill(slotOf, -1);
+        heap = new NextUseHeap(frames);
+    }
+
+    @Override
+    public int reference(int i, int page) {
+        int slot = slotOf[ids[i]];
+        boolean hit = slot >= 0;
+
+        if (!hit) {
+            if (used < frames) {
+                slot = used++;
+            } else {
+                slot = heap.top();
+                slotOf[memoryIds[slot]] = -1;
+            }
+            memoryIds[slot] = ids[i];
+            slotOf[ids[i]] = slot;
+        }
+        // pages never used again rank beyond every real index, lowest slot first
+        heap.set(slot, next[i] < n ? next[i] : n + frames - slot);
+        return hit ? HIT : slot;
+    }
+
+    // Indexed max-heap of frame slots keyed by next use.
+    private static class NextUseHeap {
+        final int[] heap, pos, key;
+        int size;
+
+        NextUseHeap(int slots) {
+            heap = new int[slots];
+            pos = new int[slots];
+            key = new int[slots];
+            Arrays.fill(pos, -1);
+        }
+
+        int top() {
+            return heap[0];
+        }
+
+        void set(int slot, int k) {
+            key[slot] = k;
+            if (pos[slot] < 0) {
+                pos[slot] = size;
+                heap[size++] = slot;
+            }
+            siftDown(siftUp(pos[slot]));
+        }
+
+        private int siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (key[heap[parent]] >= key[heap[i]]) break;
+                swap(i, parent);
+                i = parent;
+            }
+            return i;
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int l = 2 * i + 1, r = l + 1, largest = i;
+                if (l < size && key[heap[l]] > key[heap[largest]]) largest = l;
+                if (r < size && key[heap[r]] > key[heap[largest]]) largest = r;
+                if (largest == i) return;
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int t = heap[i];
+            heap[i] = heap[j];
+            heap[j] = t;
+            pos[heap[i]] = i;
+            pos[heap[j]] = j;
+        }
+    }
+}
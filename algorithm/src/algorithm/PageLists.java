@@ -0,0 +1,86 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// A fixed pool of page entries threaded onto a few intrusive doubly linked
+// lists, each ordered oldest (head) to newest (tail), plus an IntIntMap from
+// page to entry. Entries are plain int indices, so moving a page between lists
+// or evicting it is O(1) and allocation-free. Entries are handed out in order
+// 0, 1, 2, ... and a removed entry is the next one reused, which lets callers
+// use the entry index as a frame slot.
+public class PageLists {
+    public static final int NONE = -1;
+
+    private final int[] page, list, prev, next;
+    private final int[] head, tail, size;
+    private final IntIntMap index;
+    private int freeHead = NONE, allocated;
+
+    public PageLists(int entries, int lists) {
+        page = new int[entries];
+        list = new int[entries];
+        prev = new int[entries];
+        next = new int[entries];
+        head = new int[lists];
+        tail = new int[lists];
+        size = new int[lists];
+        Arrays.fill(head, NONE);
+        Arrays.fill(tail, NONE);
+        index = new IntIntMap(entries);
+    }
+
+    // Entry holding the page, or NONE.
+    public int find(int p) {
+        return index.get(p);
+    }
+
+    public int page(int entry) { return page[entry]; }
+    public int listOf(int entry) { return list[entry]; }
+    public int size(int l) { return size[l]; }
+    public int oldest(int l) { return head[l]; }
+
+    // Adds a page that is not present as the newest entry of list l.
+    public int add(int p, int l) {
+        int e;
+        if (freeHead != NONE) {
+            e = freeHead;
+            freeHead = next[e];
+        } else {
+            e = allocated++;
+        }
+        page[e] = p;
+        index.put(p, e);
+        link(e, l);
+        return e;
+    }
+
+    public void remove(int entry) {
+        unlink(entry);
+        index.remove(page[entry]);
+        next[entry] = freeHead;
+        freeHead = entry;
+    }
+
+    // Moves an entry to the newest end of list l (which may be its own list).
+    public void moveToNewest(int entry, int l) {
+        if (list[entry] == l && tail[l] == entry) return;
+        unlink(entry);
+        link(entry, l);
+    }
+
+    private void link(int e, int l) {
+        list[e] = l;
+        prev[e] = tail[l];
+        next[e] = NONE;
+        if (tail[l] != NONE) next[tail[l]] = e; else head[l] = e;
+        tail[l] = e;
+        size[l]++;
+    }
+
+    private void unlink(int e) {
+        int l = list[e];
+        if (prev[e] != NONE) next[prev[e]] = next[e]; else head[l] = next[e];
+        if (next[e] != NONE) prev[next[e]] = prev[e]; else tail[l] = prev[e];
+        size[l]--;
+    }
+}
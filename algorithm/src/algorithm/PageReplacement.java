@@ -0,0 +1,61 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Headless page replacement runner used by PageReplacementGUI. Each algorithm
+// is a ReplacementPolicy driven through the same step loop.
+public class PageReplacement {
+    public static final String[] ALGORITHMS = {"FIFO", "LRU", "Optimal", "CLOCK", "Second-Chance", "LFU", "ARC", "2Q"};
+
+    static class Result {
+        PageStepLog log;
+        int faults;
+
+        Result(PageStepLog log) {
+            this.log = log;
+            this.faults = log.faults();
+        }
+    }
+
+    static ReplacementPolicy create(String type) {
+        return switch (type) {
+            case "FIFO" -> new FifoPolicy();
+            case "LRU" -> new LruPolicy();
+            case "Optimal" -> new OptimalPolicy();
+            case "CLOCK" -> new ClockPolicy();
+            case "Second-Chance" -> new SecondChancePolicy();
+            case "LFU" -> new LfuPolicy();
+            case "ARC" -> new ArcPolicy();
+            case "2Q" -> new TwoQueuePolicy();
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + type);
+        };
+    }
+
+    public static Result run(String type, int[] pages, int frames, Progress progress) {
+        if (frames <= 0) throw new IllegalArgumentException("Number of frames must be positive");
+        ReplacementPolicy policy = create(type);
+        policy.init(pages, frames);
+        PageStepLog log = new PageStepLog(frames, pages.length);
+
+        for (int i = 0; i < pages.length; i++) {
+            if ((i & 0x3FF) == 0) progress.update(i, pages.length);
+            int slot = policy.reference(i, pages[i]);
+            if (slot == ReplacementPolicy.HIT) log.hit(pages[i]);
+            else log.fault(pages[i], slot);
+        }
+
+        return new Result(log);
+    }
+
+    // Maps each page number to a dense id in 0..distinct-1.
+    static int[] denseIds(int[] pages) {
+        int[] sorted = pages.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++)
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[distinct++] = sorted[i];
+        int[] ids = new int[pages.length];
+        for (int i = 0; i < pages.length; i++) ids[i] = Arrays.binarySearch(sorted, 0, distinct, pages[i]);
+        return ids;
+    }
+}
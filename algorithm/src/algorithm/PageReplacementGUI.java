@@ -1,10 +1,14 @@
 package algorithm;
 
 import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import javax.swing.ImageIcon;
 
 public class PageReplacementGUI extends JFrame {
@@ -19,17 +23,21 @@ public class PageReplacementGUI extends JFrame {
     icon = new ImageIcon(getClass().getResource("image.jpg")); 
     this.setIconImage(icon.getImage());
 
-    JButton fifoBtn = new JButton("FIFO");
-    JButton lruBtn = new JButton("LRU");
-    JButton optimalBtn = new JButton("Optimal");
+    // one button per replacement policy
+    for (String algo : PageReplacement.ALGORITHMS) {
+        JButton btn = new JButton(algo);
+        btn.addActionListener(e -> runAlgorithm(algo));
+        add(btn);
+    }
+
+    JButton compareBtn = new JButton("Compare All");
+    JButton curveBtn = new JButton("LRU Fault Curve");
 
-    add(fifoBtn);
-    add(lruBtn);
-    add(optimalBtn);
+    add(compareBtn);
+    add(curveBtn);
 
-    fifoBtn.addActionListener(e -> runAlgorithm("FIFO"));
-    lruBtn.addActionListener(e -> runAlgorithm("LRU"));
-    optimalBtn.addActionListener(e -> runAlgorithm("Optimal"));
+    compareBtn.addActionListener(e -> runAlgorithm("Compare All"));
+    curveBtn.addActionListener(e -> runFaultCurve());
 
     setLocationRelativeTo(null); // ✅ This centers your frame
     setVisible(true);
@@ -47,154 +55,84 @@ public class PageReplacementGUI extends JFrame {
             int[] pages = Arrays.stream(pagesArray).mapToInt(p -> Integer.parseInt(p.trim())).toArray();
             int frames = Integer.parseInt(frameStr.trim());
 
-            Object[][] data;
-            int pageFaults = 0;
-
-            switch (type) {
-                case "FIFO" -> {
-                    Result fifoResult = fifo(pages, frames);
-                    data = fifoResult.data;
-                    pageFaults = fifoResult.faults;
-                }
-                case "LRU" -> {
-                    Result lruResult = lru(pages, frames);
-                    data = lruResult.data;
-                    pageFaults = lruResult.faults;
-                }
-                case "Optimal" -> {
-                    Result optResult = optimal(pages, frames);
-                    data = optResult.data;
-                    pageFaults = optResult.faults;
-                }
-                default -> {
-                    return;
-                }
+            if (type.equals("Compare All")) {
+                SimulationTask.start(this, "Comparing algorithms",
+                        progress -> ComparisonRunner.compare(PageReplacement.ALGORITHMS,
+                                (algo, p) -> PageReplacement.run(algo, pages, frames, p), progress),
+                        entries -> showComparison(entries, pages.length, frames), this::showFailure);
+                return;
             }
 
-            showTable(data, frames, pageFaults, type + " Algorithm");
+            SimulationTask.start(this, "Running " + type,
+                    progress -> PageReplacement.run(type, pages, frames, progress),
+                    res -> showTable(res.log, type + " Algorithm"), this::showFailure);
 
         } catch (NumberFormatException e) {
             showError("Invalid input. Please enter numbers only.");
         }
     }
 
-    private Result fifo(int[] pages, int frames) {
-        List<Integer> memory = new ArrayList<>();
-        Queue<Integer> queue = new LinkedList<>();
-        List<Object[]> tableData = new ArrayList<>();
-        int faults = 0;
-
-        for (int page : pages) {
-            boolean hit = memory.contains(page);
-            if (!hit) {
-                if (memory.size() < frames) {
-                    memory.add(page);
-                    queue.add(page);
-                } else {
-                    int removed = queue.poll();
-                    memory.remove((Integer) removed);
-                    memory.add(page);
-                    queue.add(page);
-                }
-                faults++;
-            }
+    private void runFaultCurve() {
+        String pagesStr = JOptionPane.showInputDialog(this, "Enter page sequence (comma-separated):");
+        if (pagesStr == null || pagesStr.trim().isEmpty()) return;
 
-            tableData.add(buildRow(page, memory, frames, hit));
+        try {
+            int[] pages = Arrays.stream(pagesStr.split(",")).mapToInt(p -> Integer.parseInt(p.trim())).toArray();
+            SimulationTask.start(this, "Computing fault curve",
+                    progress -> StackDistance.lruFaultCurve(pages, progress),
+                    faults -> showFaultCurve(faults, pages.length), this::showFailure);
+        } catch (NumberFormatException e) {
+            showError("Invalid input. Please enter numbers only.");
         }
-
-        return new Result(tableData.toArray(new Object[0][]), faults);
     }
 
-    private Result lru(int[] pages, int frames) {
-        LinkedHashMap<Integer, Integer> cache = new LinkedHashMap<>(frames, 0.75f, true);
-        List<Object[]> tableData = new ArrayList<>();
-        int faults = 0;
-
-        for (int page : pages) {
-            boolean hit = cache.containsKey(page);
-            if (!hit) {
-                if (cache.size() >= frames) {
-                    int oldest = cache.keySet().iterator().next();
-                    cache.remove(oldest);
-                }
-                cache.put(page, page);
-                faults++;
-            } else {
-                cache.get(page); // make it most recently used
+    private void showFaultCurve(long[] faults, int references) {
+        JTable table = new JTable(new AbstractTableModel() {
+            private final String[] columns = {"Frames", "Page Faults", "Miss Ratio"};
+
+            public int getRowCount() { return faults.length - 1; }
+            public int getColumnCount() { return columns.length; }
+            public String getColumnName(int column) { return columns[column]; }
+
+            public Object getValueAt(int row, int column) {
+                long f = faults[row + 1];
+                return switch (column) {
+                    case 0 -> row + 1;
+                    case 1 -> f;
+                    default -> String.format("%.4f", (double) f / references);
+                };
             }
-
-            tableData.add(buildRow(page, new ArrayList<>(cache.keySet()), frames, hit));
-        }
-
-        return new Result(tableData.toArray(new Object[0][]), faults);
-    }
-
-    private Result optimal(int[] pages, int frames) {
-        List<Integer> memory = new ArrayList<>();
-        List<Object[]> tableData = new ArrayList<>();
-        int faults = 0;
-
-        for (int i = 0; i < pages.length; i++) {
-            int page = pages[i];
-            boolean hit = memory.contains(page);
-
-            if (!hit) {
-                if (memory.size() < frames) {
-                    memory.add(page);
-                } else {
-                    int farthest = -1, indexToReplace = -1;
-
-                    for (int j = 0; j < memory.size(); j++) {
-                        int nextUse = Integer.MAX_VALUE;
-                        for (int k = i + 1; k < pages.length; k++) {
-                            if (pages[k] == memory.get(j)) {
-                                nextUse = k;
-                                break;
-                            }
-                        }
-                        if (nextUse > farthest) {
-                            farthest = nextUse;
-                            indexToReplace = j;
-                        }
-                    }
-
-                    memory.set(indexToReplace, page);
-                }
-                faults++;
+        });
+
+        JButton exportBtn = new JButton("Export CSV");
+        exportBtn.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setSelectedFile(new File("lru_fault_curve.csv"));
+            if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+            try {
+                StackDistance.exportCsv(faults, references, chooser.getSelectedFile().toPath());
+            } catch (IOException ex) {
+                showError("Could not write file: " + ex.getMessage());
             }
+        });
 
-            tableData.add(buildRow(page, memory, frames, hit));
-        }
-
-        return new Result(tableData.toArray(new Object[0][]), faults);
-    }
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(new FaultCurveChart(faults), BorderLayout.NORTH);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        panel.add(exportBtn, BorderLayout.SOUTH);
 
-    private Object[] buildRow(int page, List<Integer> memory, int frames, boolean hit) {
-        Object[] row = new Object[frames + 2];
-        row[0] = page;
-        for (int i = 0; i < frames; i++) {
-            if (i < memory.size()) {
-                row[i + 1] = memory.get(i);
-            } else {
-                row[i + 1] = "";
-            }
-        }
-        row[frames + 1] = hit ? "Hit" : "Page Fault";
-        return row;
+        JDialog dialog = new JDialog(this, "LRU Fault Curve (" + references + " references)", true);
+        dialog.getContentPane().add(panel);
+        dialog.setSize(700, 600);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
     }
 
-    private void showTable(Object[][] data, int frames, int faults, String title) {
-        String[] columnNames = new String[frames + 2];
-        columnNames[0] = "Page";
-        for (int i = 1; i <= frames; i++) {
-            columnNames[i] = "Frame " + i;
-        }
-        columnNames[frames + 1] = "Status";
-
-        JTable table = new JTable(new DefaultTableModel(data, columnNames));
+    private void showTable(PageStepLog log, String title) {
+        JTable table = new JTable(new FrameTableModel(log));
         JScrollPane scrollPane = new JScrollPane(table);
 
-        JLabel faultLabel = new JLabel("Total Page Faults = " + faults);
+        JLabel faultLabel = new JLabel("Total Page Faults = " + log.faults());
         faultLabel.setFont(new Font("Arial", Font.BOLD, 16));
         faultLabel.setHorizontalAlignment(SwingConstants.CENTER);
         faultLabel.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
@@ -210,18 +148,34 @@ public class PageReplacementGUI extends JFrame {
         dialog.setVisible(true);
     }
 
+    private void showComparison(List<ComparisonRunner.Entry<PageReplacement.Result>> entries, int references, int frames) {
+        String[] columnNames = {"Algorithm", "Page Faults", "Hits", "Hit Ratio", "Time (ms)"};
+        Object[][] data = new Object[entries.size()][];
+        for (int i = 0; i < data.length; i++) {
+            ComparisonRunner.Entry<PageReplacement.Result> e = entries.get(i);
+            int hits = references - e.result.faults;
+            data[i] = new Object[]{e.algorithm, e.result.faults, hits,
+                String.format("%.2f%%", 100.0 * hits / references), e.millis};
+        }
+
+        JTable table = new JTable(new DefaultTableModel(data, columnNames));
+        JDialog dialog = new JDialog(this, "Compare All (" + frames + " frames)", true);
+        dialog.getContentPane().add(new JScrollPane(table));
+        dialog.setSize(600, 200);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+
     private void showError(String message) {
         JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
     }
 
-    static class Result {
-        Object[][] data;
-        int faults;
-
-        Result(Object[][] data, int faults) {
-            this.data = data;
-            this.faults = faults;
+    private void showFailure(Throwable e) {
+        if (e instanceof CancellationException) {
+            JOptionPane.showMessageDialog(this, "Simulation cancelled.");
+            return;
         }
+        showError("Invalid input. Please check the page sequence and frame count.");
     }
 
     public static void main(String[] args) {
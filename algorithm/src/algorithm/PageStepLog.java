@@ -0,0 +1,69 @@
+package algorithm;
+
+// Compact record of a page replacement run: for every reference, the page and
+// the frame slot it was loaded into (-1 for a hit). Frame contents are
+// snapshotted every few steps so any row can be rebuilt on demand instead of
+// storing a full table row per reference.
+public class PageStepLog {
+    private final int frames, interval;
+    private final int[] page, slot;
+    private final int[] snapshots, snapshotUsed;
+    private final int[] current;
+    private int steps, used, faults;
+
+    public PageStepLog(int frames, int capacity) {
+        this.frames = frames;
+        interval = Math.max(64, frames);
+        page = new int[capacity];
+        slot = new int[capacity];
+        int count = (capacity + interval - 1) / interval;
+        snapshots = new int[count * frames];
+        snapshotUsed = new int[count];
+        current = new int[frames];
+    }
+
+    public void hit(int p) {
+        record(p, -1);
+    }
+
+    public void fault(int p, int frameSlot) {
+        record(p, frameSlot);
+    }
+
+    private void record(int p, int s) {
+        if (steps % interval == 0) {
+            System.arraycopy(current, 0, snapshots, steps / interval * frames, frames);
+            snapshotUsed[steps / interval] = used;
+        }
+        page[steps] = p;
+        slot[steps] = s;
+        steps++;
+        if (s >= 0) {
+            current[s] = p;
+            used = Math.max(used, s + 1);
+            faults++;
+        }
+    }
+
+    public int steps() { return steps; }
+    public int frames() { return frames; }
+    public int faults() { return faults; }
+    public int page(int step) { return page[step]; }
+    public int slot(int step) { return slot[step]; }
+    public boolean isHit(int step) { return slot[step] < 0; }
+
+    // Fills out with the frame contents after the given step and returns how
+    // many frames are in use.
+    public int framesAt(int step, int[] out) {
+        int c = step / interval;
+        System.arraycopy(snapshots, c * frames, out, 0, frames);
+        int u = snapshotUsed[c];
+        for (int i = c * interval; i <= step; i++) {
+            if (slot[i] >= 0) {
+                out[slot[i]] = page[i];
+                u = Math.max(u, slot[i] + 1);
+            }
+        }
+        return u;
+    }
+}
@@ -3,18 +3,34 @@ package algorithm;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 public class ProcessSchedulingGUI extends JFrame {
-    private JTextField atField, btField, prField, qtField;
+    private JTextField atField, btField, prField, qtField, mlfqField, agingField, priorityAgingField, cpuField, migrationField;
     private JTextArea outputArea;
-    private JComboBox<String> algoBox;
+    private JComboBox<String> algoBox, balancingBox;
     private final ImageIcon icon;
 
+    // Metrics of the last run as JSON, for Export Metrics.
+    private String lastMetrics;
+
+    private static class Report {
+        final String text, metrics;
+
+        Report(String text, String metrics) {
+            this.text = text;
+            this.metrics = metrics;
+        }
+    }
+
     public ProcessSchedulingGUI() {
         setTitle("Process Scheduling Simulator");
-        setSize(900, 500);
+        setSize(900, 650);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
         getContentPane().setBackground(Color.PINK);
@@ -22,9 +38,9 @@ public class ProcessSchedulingGUI extends JFrame {
         this.setIconImage(icon.getImage());
 
         JPanel inputPanel = new JPanel();
-        inputPanel.setLayout(new GridLayout(7, 2, 5, 5));
+        inputPanel.setLayout(new GridLayout(13, 2, 5, 5));
         inputPanel.setBackground(Color.PINK);
-        inputPanel.setPreferredSize(new Dimension(300, 500));
+        inputPanel.setPreferredSize(new Dimension(300, 585));
 
         inputPanel.add(new JLabel("Arrival Times (comma-separated):"));
         atField = new JTextField();
@@ -43,15 +59,45 @@ public class ProcessSchedulingGUI extends JFrame {
         inputPanel.add(qtField);
 
         inputPanel.add(new JLabel("Select Algorithm:"));
-        algoBox = new JComboBox<>(new String[]{
-            "FCFS", "SJF (Non-Preemptive)", "SJF (Preemptive)",
-            "Priority (Non-Preemptive)", "Priority (Preemptive)", "Round Robin"
-        });
+        algoBox = new JComboBox<>(CpuScheduler.ALGORITHMS);
         inputPanel.add(algoBox);
 
+        inputPanel.add(new JLabel("MLFQ Quanta (per level):"));
+        mlfqField = new JTextField("2, 4, 8");
+        inputPanel.add(mlfqField);
+
+        inputPanel.add(new JLabel("MLFQ Aging (0 = off):"));
+        agingField = new JTextField("20");
+        inputPanel.add(agingField);
+
+        inputPanel.add(new JLabel("Priority Aging (0 = off):"));
+        priorityAgingField = new JTextField("0");
+        inputPanel.add(priorityAgingField);
+
         JButton runBtn = new JButton("Run Scheduling");
         inputPanel.add(runBtn);
 
+        JButton compareBtn = new JButton("Compare All");
+        inputPanel.add(compareBtn);
+
+        inputPanel.add(new JLabel("CPUs (SMP round robin):"));
+        cpuField = new JTextField("4");
+        inputPanel.add(cpuField);
+
+        inputPanel.add(new JLabel("Migration Cost:"));
+        migrationField = new JTextField("1");
+        inputPanel.add(migrationField);
+
+        inputPanel.add(new JLabel("Load Balancing:"));
+        balancingBox = new JComboBox<>(SmpScheduler.BALANCING);
+        inputPanel.add(balancingBox);
+
+        JButton smpBtn = new JButton("Run SMP");
+        inputPanel.add(smpBtn);
+
+        JButton exportBtn = new JButton("Export Metrics");
+        inputPanel.add(exportBtn);
+
         JPanel leftWrap = new JPanel(new BorderLayout());
         leftWrap.setBackground(Color.PINK);
         leftWrap.add(inputPanel, BorderLayout.NORTH);
@@ -66,174 +112,144 @@ public class ProcessSchedulingGUI extends JFrame {
         add(splitPane);
 
         runBtn.addActionListener(e -> schedule());
+        compareBtn.addActionListener(e -> compareAll());
+        smpBtn.addActionListener(e -> runSmp());
+        exportBtn.addActionListener(e -> exportMetrics());
 
         setVisible(true);
     }
 
-    static class Process {
-        int id, at, bt, ct, wt, tat, rt, pr;
-        Process(int id, int at, int bt, int pr) {
-            this.id = id; this.at = at; this.bt = bt; this.pr = pr; this.rt = bt;
-        }
+    private void schedule() {
+        String atText = atField.getText(), btText = btField.getText(), prText = prField.getText(), qtText = qtField.getText();
+        String mlfqText = mlfqField.getText(), agingText = agingField.getText(), priorityAgingText = priorityAgingField.getText();
+        String algo = (String) algoBox.getSelectedItem();
+
+        SimulationTask.start(this, "Running " + algo, progress -> {
+            int[] at = parseList(atText);
+            int[] bt = parseList(btText);
+            int[] pr = prText.isEmpty() ? new int[bt.length] : parseList(prText);
+            int quantum = qtText.isEmpty() ? 1 : Integer.parseInt(qtText.trim());
+
+            // Settings fields are only read by the algorithms that use them.
+            CpuScheduler.Mlfq mlfq = algo.equals("MLFQ") ? parseMlfq(mlfqText, agingText) : null;
+            int aging = algo.startsWith("Priority") ? parseAging(priorityAgingText) : 0;
+
+            CpuScheduler.Result res = CpuScheduler.run(algo, at, bt, pr, quantum, mlfq, aging, progress);
+
+            StringBuilder result = new StringBuilder("Gantt Chart:\n");
+            result.append(res.gantt.render()).append("\n\nP\tAT\tBT\tWT\tTAT\n");
+            ProcessTable t = res.processes;
+            for (int i = 0; i < t.size(); i++) {
+                result.append("P").append(t.id[i]).append("\t").append(t.at[i]).append("\t").append(t.bt[i]).append("\t").append(t.wt[i]).append("\t").append(t.tat[i]).append("\n");
+            }
+            result.append("\nAverage WT: ").append(String.format("%.2f", res.avgWT));
+            result.append("\nAverage TAT: ").append(String.format("%.2f", res.avgTAT));
+            result.append("\n\n").append(res.metrics.format());
+            return new Report(result.toString(), res.metrics.toJson(algo));
+        }, this::showReport, this::showFailure);
     }
 
-    private void schedule() {
-        try {
-            int[] at = Arrays.stream(atField.getText().split(",")).mapToInt(Integer::parseInt).toArray();
-            int[] bt = Arrays.stream(btField.getText().split(",")).mapToInt(Integer::parseInt).toArray();
-            int[] pr = prField.getText().isEmpty() ? new int[bt.length] : Arrays.stream(prField.getText().split(",")).mapToInt(Integer::parseInt).toArray();
-            int quantum = qtField.getText().isEmpty() ? 1 : Integer.parseInt(qtField.getText().trim());
-            String algo = (String) algoBox.getSelectedItem();
-
-            List<Process> processes = new ArrayList<>();
-            for (int i = 0; i < bt.length; i++) processes.add(new Process(i+1, at[i], bt[i], pr[i]));
-
-            StringBuilder gantt = new StringBuilder("Gantt Chart:\n|");
-            List<Integer> gList = new ArrayList<>();
-            int time = 0, completed = 0;
-
-            switch (algo) {
-                case "FCFS":
-                    processes.sort(Comparator.comparingInt(p -> p.at));
-                    for (Process p : processes) {
-                        time = Math.max(time, p.at);
-                        p.wt = time - p.at;
-                        time += p.bt;
-                        p.ct = time;
-                        p.tat = p.ct - p.at;
-                        for (int i = 0; i < p.bt; i++) gList.add(p.id);
-                    }
-                    break;
-
-                case "SJF (Non-Preemptive)":
-                    processes.sort(Comparator.comparingInt(p -> p.at));
-                    boolean[] done = new boolean[bt.length];
-                    while (completed < bt.length) {
-                        int minBt = Integer.MAX_VALUE, idx = -1;
-                        for (int i = 0; i < processes.size(); i++) {
-                            Process p = processes.get(i);
-                            if (!done[i] && p.at <= time && p.bt < minBt) {
-                                minBt = p.bt; idx = i;
-                            }
-                        }
-                        if (idx == -1) { gList.add(-1); time++; continue; }
-                        Process p = processes.get(idx);
-                        time += p.bt;
-                        p.ct = time;
-                        p.tat = p.ct - p.at;
-                        p.wt = p.tat - p.bt;
-                        for (int i = 0; i < p.bt; i++) gList.add(p.id);
-                        done[idx] = true; completed++;
-                    }
-                    break;
-
-                case "SJF (Preemptive)":
-                    while (completed < bt.length) {
-                        Process minP = null;
-                        for (Process p : processes)
-                            if (p.at <= time && p.rt > 0 && (minP == null || p.rt < minP.rt))
-                                minP = p;
-                        if (minP == null) { gList.add(-1); time++; continue; }
-                        minP.rt--; gList.add(minP.id);
-                        if (minP.rt == 0) {
-                            minP.ct = time + 1;
-                            minP.tat = minP.ct - minP.at;
-                            minP.wt = minP.tat - minP.bt;
-                            completed++;
-                        }
-                        time++;
-                    }
-                    break;
-
-                case "Priority (Non-Preemptive)":
-                    processes.sort(Comparator.comparingInt(p -> p.at));
-                    boolean[] visited = new boolean[bt.length];
-                    while (completed < bt.length) {
-                        Process minP = null;
-                        for (int i = 0; i < processes.size(); i++) {
-                            Process p = processes.get(i);
-                            if (!visited[i] && p.at <= time && (minP == null || p.pr < minP.pr))
-                                minP = p;
-                        }
-                        if (minP == null) { gList.add(-1); time++; continue; }
-                        visited[processes.indexOf(minP)] = true;
-                        time = Math.max(time, minP.at);
-                        for (int i = 0; i < minP.bt; i++) gList.add(minP.id);
-                        time += minP.bt;
-                        minP.ct = time;
-                        minP.tat = minP.ct - minP.at;
-                        minP.wt = minP.tat - minP.bt;
-                        completed++;
-                    }
-                    break;
-
-                case "Priority (Preemptive)":
-                    while (completed < bt.length) {
-                        Process minP = null;
-                        for (Process p : processes)
-                            if (p.at <= time && p.rt > 0 && (minP == null || p.pr < minP.pr))
-                                minP = p;
-                        if (minP == null) { gList.add(-1); time++; continue; }
-                        minP.rt--; gList.add(minP.id);
-                        if (minP.rt == 0) {
-                            minP.ct = time + 1;
-                            minP.tat = minP.ct - minP.at;
-                            minP.wt = minP.tat - minP.bt;
-                            completed++;
-                        }
-                        time++;
-                    }
-                    break;
-
-                case "Round Robin":
-                    Queue<Process> queue = new LinkedList<>();
-                    boolean[] enqueued = new boolean[bt.length];
-                    while (completed < bt.length) {
-                        for (int i = 0; i < processes.size(); i++)
-                            if (processes.get(i).at <= time && !enqueued[i]) {
-                                queue.add(processes.get(i));
-                                enqueued[i] = true;
-                            }
-                        if (queue.isEmpty()) { gList.add(-1); time++; continue; }
-                        Process p = queue.poll();
-                        int ex = Math.min(p.rt, quantum);
-                        for (int i = 0; i < ex; i++) gList.add(p.id);
-                        p.rt -= ex;
-                        time += ex;
-                        for (int i = 0; i < processes.size(); i++)
-                            if (processes.get(i).at <= time && !enqueued[i]) {
-                                queue.add(processes.get(i));
-                                enqueued[i] = true;
-                            }
-                        if (p.rt > 0) queue.add(p);
-                        else {
-                            p.ct = time;
-                            p.tat = p.ct - p.at;
-                            p.wt = p.tat - p.bt;
-                            completed++;
-                        }
-                    }
-                    break;
+    private void compareAll() {
+        String atText = atField.getText(), btText = btField.getText(), prText = prField.getText(), qtText = qtField.getText();
+        String mlfqText = mlfqField.getText(), agingText = agingField.getText(), priorityAgingText = priorityAgingField.getText();
+
+        SimulationTask.start(this, "Comparing algorithms", progress -> {
+            int[] at = parseList(atText);
+            int[] bt = parseList(btText);
+            int[] pr = prText.isEmpty() ? new int[bt.length] : parseList(prText);
+            int quantum = qtText.isEmpty() ? 1 : Integer.parseInt(qtText.trim());
+            CpuScheduler.Mlfq mlfq = parseMlfq(mlfqText, agingText);
+            int aging = parseAging(priorityAgingText);
+
+            List<ComparisonRunner.Entry<CpuScheduler.Result>> entries = ComparisonRunner.compare(
+                    CpuScheduler.ALGORITHMS, (algo, p) -> CpuScheduler.run(algo, at, bt, pr, quantum, mlfq, aging, p), progress);
+
+            StringBuilder result = new StringBuilder("Comparison of all algorithms:\n\n");
+            result.append(String.format("%-26s %10s %10s %10s %9s %9s %9s %7s %9s%n", "Algorithm", "Avg WT", "Avg TAT",
+                    "Makespan", "p99 WT", "p99 Resp", "Switches", "Jain", "Time(ms)"));
+            StringBuilder json = new StringBuilder("[");
+            for (ComparisonRunner.Entry<CpuScheduler.Result> e : entries) {
+                ScheduleMetrics m = e.result.metrics;
+                result.append(String.format("%-26s %10.2f %10.2f %10d %9d %9d %9d %7.4f %9d%n", e.algorithm,
+                        e.result.avgWT, e.result.avgTAT, e.result.gantt.endTime(), m.wt.percentile(0.99),
+                        m.response.percentile(0.99), m.contextSwitches, m.fairness, e.millis));
+                if (json.length() > 1) json.append(",\n");
+                json.append(m.toJson(e.algorithm));
             }
+            return new Report(result.toString(), json.append("]").toString());
+        }, this::showReport, this::showFailure);
+    }
+
+    // Round robin on every CPU with per-CPU run queues.
+    private void runSmp() {
+        String atText = atField.getText(), btText = btField.getText(), prText = prField.getText(), qtText = qtField.getText();
+        String cpuText = cpuField.getText(), migrationText = migrationField.getText();
+        String balancing = (String) balancingBox.getSelectedItem();
 
-            for (int id : gList)
-                gantt.append(id == -1 ? " Idle |" : " P" + id + " |");
+        SimulationTask.start(this, "Running SMP", progress -> {
+            int[] at = parseList(atText);
+            int[] bt = parseList(btText);
+            int[] pr = prText.isEmpty() ? new int[bt.length] : parseList(prText);
+            int quantum = qtText.isEmpty() ? 1 : Integer.parseInt(qtText.trim());
+            int cpus = Integer.parseInt(cpuText.trim());
+            int migration = Integer.parseInt(migrationText.trim());
 
-            StringBuilder result = new StringBuilder();
-            result.append(gantt).append("\n\nP\tAT\tBT\tWT\tTAT\n");
-            double totalWT = 0, totalTAT = 0;
-            for (Process p : processes) {
-                result.append("P").append(p.id).append("\t").append(p.at).append("\t").append(p.bt).append("\t").append(p.wt).append("\t").append(p.tat).append("\n");
-                totalWT += p.wt;
-                totalTAT += p.tat;
+            SmpScheduler.Result res = SmpScheduler.run(at, bt, pr, cpus, quantum, migration, balancing, progress);
+
+            StringBuilder result = new StringBuilder("SMP Round Robin (" + cpus + " CPUs, " + balancing + "):\n\n");
+            for (int c = 0; c < cpus; c++) {
+                result.append(String.format("CPU %d (%.1f%% busy): ", c, res.utilization[c] * 100));
+                result.append(res.cpus[c].render()).append('\n');
+            }
+            result.append("\nP\tAT\tBT\tWT\tTAT\n");
+            ProcessTable t = res.processes;
+            for (int i = 0; i < t.size(); i++) {
+                result.append("P").append(t.id[i]).append("\t").append(t.at[i]).append("\t").append(t.bt[i]).append("\t").append(t.wt[i]).append("\t").append(t.tat[i]).append("\n");
             }
-            result.append("\nAverage WT: ").append(String.format("%.2f", totalWT / processes.size()));
-            result.append("\nAverage TAT: ").append(String.format("%.2f", totalTAT / processes.size()));
+            result.append(String.format("%nMakespan: %d%nMigrations: %d%n%n", res.makespan, res.migrations));
+            result.append(res.metrics.format());
+            return new Report(result.toString(), res.metrics.toJson("SMP Round Robin, " + balancing));
+        }, this::showReport, this::showFailure);
+    }
+
+    private void showReport(Report report) {
+        outputArea.setText(report.text);
+        lastMetrics = report.metrics;
+    }
 
-            outputArea.setText(result.toString());
-        } catch (Exception ex) {
-            outputArea.setText("Invalid input! Please check and try again.");
+    private void exportMetrics() {
+        if (lastMetrics == null) {
+            JOptionPane.showMessageDialog(this, "Run a schedule first.");
+            return;
         }
+        String metrics = lastMetrics;
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("metrics.json"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+        try {
+            Files.write(file.toPath(), (metrics + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not write file: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private static CpuScheduler.Mlfq parseMlfq(String quantaText, String agingText) {
+        return new CpuScheduler.Mlfq(parseList(quantaText), parseAging(agingText));
+    }
+
+    private static int parseAging(String text) {
+        return text.isBlank() ? 0 : Integer.parseInt(text.trim());
+    }
+
+    private static int[] parseList(String text) {
+        return Arrays.stream(text.split(",")).mapToInt(v -> Integer.parseInt(v.trim())).toArray();
+    }
+
+    private void showFailure(Throwable ex) {
+        outputArea.setText(ex instanceof CancellationException
+                ? "Simulation cancelled."
+                : "Invalid input! Please check and try again.");
     }
 
     public static void main(String[] args) {
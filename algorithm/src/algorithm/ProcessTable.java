@@ -0,0 +1,60 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Columnar process table for CpuScheduler: row i of every array describes one
+// process, so the schedulers work on plain arrays by index and a
+// million-row trace is eight arrays rather than a million objects. Completion,
+// waiting and turnaround are long: a trace's total burst can pass 2^31.
+public class ProcessTable {
+    final int size;
+    final int[] id, at, bt, pr, rt;
+    final long[] ct, wt, tat;
+
+    public ProcessTable(int[] at, int[] bt, int[] pr) {
+        size = bt.length;
+        if (at.length != size || pr.length != size)
+            throw new IllegalArgumentException("Arrival, burst and priority lists must have the same length");
+        id = new int[size];
+        for (int i = 0; i < size; i++) id[i] = i + 1;
+        this.at = at.clone();
+        this.bt = bt.clone();
+        this.pr = pr.clone();
+        rt = bt.clone();
+        ct = new long[size];
+        wt = new long[size];
+        tat = new long[size];
+    }
+
+    public int size() { return size; }
+
+    // Records that row i completed at the given time.
+    void finish(int i, long time) {
+        ct[i] = time;
+        tat[i] = time - at[i];
+        wt[i] = tat[i] - bt[i];
+    }
+
+    // Stable reorder of every column by arrival time.
+    void sortByArrival() {
+        int[] order = arrivalOrder();
+        for (int[] column : new int[][]{id, at, bt, pr, rt}) {
+            int[] copy = column.clone();
+            for (int i = 0; i < size; i++) column[i] = copy[order[i]];
+        }
+        for (long[] column : new long[][]{ct, wt, tat}) {
+            long[] copy = column.clone();
+            for (int i = 0; i < size; i++) column[i] = copy[order[i]];
+        }
+    }
+
+    // Row indices in arrival order, ties by row, leaving the table as it is.
+    int[] arrivalOrder() {
+        long[] keyed = new long[size];
+        for (int i = 0; i < size; i++) keyed[i] = (long) at[i] << 32 | i;
+        Arrays.sort(keyed);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = (int) keyed[i];
+        return order;
+    }
+}
@@ -0,0 +1,10 @@
+package algorithm;
+
+// Progress and cancellation hook polled by long-running simulations.
+public interface Progress {
+    Progress NONE = (done, total) -> {};
+
+    // Reports done/total work (total <= 0 only polls for cancellation).
+    // Throws CancellationException once the run has been cancelled.
+    void update(long done, long total);
+}
@@ -0,0 +1,15 @@
+package algorithm;
+
+// A page replacement policy, driven one reference at a time by
+// PageReplacement.run. Frame slots are numbered 0..frames-1 and are filled in
+// order before anything is evicted.
+public interface ReplacementPolicy {
+    int HIT = -1;
+
+    // Called once before the run; pages is the whole reference string.
+    void init(int[] pages, int frames);
+
+    // Handles reference i to page. Returns HIT if the page was resident,
+    // otherwise the frame slot it was loaded into.
+    int reference(int i, int page);
+}
@@ -0,0 +1,157 @@
+package algorithm;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Counts every safe sequence of a Banker's state and lists the first few in
+// lexicographic order. How many orders can complete a state depends only on
+// which processes have already finished, since that fixes the free work, so
+// counts are memoized on the finished-set bitmask: at most 2^n states instead
+// of n! orders, and far fewer in practice. Once every remaining process fits,
+// work only grows and any order works, so the count is (remaining)! without
+// going deeper. The first levels of the search fork into the common
+// ForkJoinPool and share one memo.
+public class SafeSequences {
+    public static final int MAX_PROCESSES = 63;
+
+    // Levels of the search that fork a task per ready process.
+    private static final int PARALLEL_DEPTH = 3;
+
+    static class Result {
+        final BigInteger count;
+        final int[][] samples;
+        final long states;
+
+        Result(BigInteger count, int[][] samples, long states) {
+            this.count = count;
+            this.samples = samples;
+            this.states = states;
+        }
+    }
+
+    private final int k, m;
+    private final int[] ids, alloc, need;
+    private final long maxStates;
+    private final Progress progress;
+    private final ConcurrentHashMap<Long, BigInteger> memo = new ConcurrentHashMap<>();
+    private final AtomicLong states = new AtomicLong();
+    private final BigInteger[] factorial;
+
+    private SafeSequences(BankerState state, long maxStates, Progress progress) {
+        int n = state.processes();
+        m = state.resources();
+        int active = 0;
+        for (int i = 0; i < n; i++) if (!state.isFinished(i)) active++;
+        if (active > MAX_PROCESSES)
+            throw new IllegalArgumentException("Counting supports up to " + MAX_PROCESSES + " active processes, got " + active);
+        k = active;
+        ids = new int[k];
+        alloc = new int[k * m];
+        need = new int[k * m];
+        for (int i = 0, p = 0; i < n; i++) {
+            if (state.isFinished(i)) continue;
+            ids[p] = i;
+            System.arraycopy(state.allocation(i), 0, alloc, p * m, m);
+            System.arraycopy(state.need(i), 0, need, p * m, m);
+            p++;
+        }
+        this.maxStates = maxStates;
+        this.progress = progress;
+        factorial = new BigInteger[k + 1];
+        factorial[0] = BigInteger.ONE;
+        for (int i = 1; i <= k; i++) factorial[i] = factorial[i - 1].multiply(BigInteger.valueOf(i));
+    }
+
+    // Gives up with IllegalStateException once more than maxStates
+    // finished-sets have been visited.
+    public static Result explore(BankerState state, int samples, long maxStates, Progress progress) {
+        if (samples < 0 || maxStates <= 0) throw new IllegalArgumentException("Limits must be positive");
+        if (!state.isSafe()) return new Result(BigInteger.ZERO, new int[0][], 0);
+
+        SafeSequences search = new SafeSequences(state, maxStates, progress);
+        long[] work = new long[search.m];
+        int[] available = state.available();
+        for (int j = 0; j < search.m; j++) work[j] = available[j];
+
+        BigInteger count = ForkJoinPool.commonPool().invoke(search.task(0, work, 0));
+        List<int[]> found = new ArrayList<>();
+        search.collect(0, work, new int[search.k], 0, found, samples);
+        return new Result(count, found.toArray(new int[0][]), search.states.get());
+    }
+
+    private RecursiveTask<BigInteger> task(long done, long[] work, int depth) {
+        return new RecursiveTask<>() {
+            @Override
+            protected BigInteger compute() {
+                return count(done, work, depth);
+            }
+        };
+    }
+
+    // Number of orders that finish everyone outside done, given work free.
+    private BigInteger count(long done, long[] work, int depth) {
+        int remaining = k - Long.bitCount(done);
+        if (remaining == 0) return BigInteger.ONE;
+        BigInteger known = memo.get(done);
+        if (known != null) return known;
+
+        int[] ready = new int[remaining];
+        int r = 0;
+        for (int i = 0; i < k; i++)
+            if ((done >>> i & 1) == 0 && fits(i, work)) ready[r++] = i;
+
+        BigInteger total = BigInteger.ZERO;
+        if (r == remaining) {
+            total = factorial[remaining];
+        } else if (depth < PARALLEL_DEPTH && r > 1) {
+            List<RecursiveTask<BigInteger>> tasks = new ArrayList<>(r);
+            for (int t = 0; t < r; t++) tasks.add(task(done | 1L << ready[t], release(ready[t], work), depth + 1));
+            for (RecursiveTask<BigInteger> task : ForkJoinTask.invokeAll(tasks)) total = total.add(task.join());
+        } else {
+            for (int t = 0; t < r; t++) total = total.add(count(done | 1L << ready[t], release(ready[t], work), depth + 1));
+        }
+
+        long visited = states.incrementAndGet();
+        if (visited > maxStates)
+            throw new IllegalStateException("Stopped after " + maxStates + " states; raise the state limit to finish counting");
+        if ((visited & 0x3FF) == 0) progress.update(visited, maxStates);
+        memo.put(done, total);
+        return total;
+    }
+
+    // Depth-first in index order, only entering states that can still
+    // complete, so every step of the walk ends up in a sample.
+    private void collect(long done, long[] work, int[] prefix, int depth, List<int[]> out, int limit) {
+        if (out.size() == limit) return;
+        if (depth == k) {
+            int[] sequence = new int[k];
+            for (int t = 0; t < k; t++) sequence[t] = ids[prefix[t]];
+            out.add(sequence);
+            return;
+        }
+        for (int i = 0; i < k && out.size() < limit; i++) {
+            if ((done >>> i & 1) != 0 || !fits(i, work)) continue;
+            long next = done | 1L << i;
+            long[] freed = release(i, work);
+            if (count(next, freed, PARALLEL_DEPTH).signum() == 0) continue;
+            prefix[depth] = i;
+            collect(next, freed, prefix, depth + 1, out, limit);
+        }
+    }
+
+    private boolean fits(int i, long[] work) {
+        for (int j = 0, at = i * m; j < m; j++, at++)
+            if (need[at] > work[j]) return false;
+        return true;
+    }
+
+    // Work after process i finishes and hands back its allocation.
+    private long[] release(int i, long[] work) {
+        long[] next = work.clone();
+        for (int j = 0, at = i * m; j < m; j++, at++) next[j] += alloc[at];
+        return next;
+    }
+}
@@ -0,0 +1,48 @@
+package algorithm;
+
+// Elevator family. The head serves requests in its direction of travel; when
+// none are left ahead, SCAN runs on to the edge and turns, LOOK turns at once,
+// C-SCAN runs to the last cylinder and returns to 0, and C-LOOK jumps straight
+// back to the lowest pending request.
+public class ScanDiskPolicy implements DiskPolicy {
+    private final boolean toEdge, circular;
+    CylinderQueue pending;
+    private int range;
+    private boolean up;
+
+    public ScanDiskPolicy(boolean toEdge, boolean circular) {
+        this.toEdge = toEdge;
+        this.circular = circular;
+    }
+
+    @Override
+    public void init(int[] cylinders, int[] arrivals, boolean[] writes, int range, boolean up) {
+        pending = new CylinderQueue(cylinders);
+        this.range = range;
+        this.up = circular || up;
+    }
+
+    @Override
+    public void arrive(int i) {
+        pending.add(i);
+    }
+
+    @Override
+    public int next(int head, double now) {
+        if (pending.isEmpty()) return WAIT;
+        int i = up ? pending.above(head) : pending.below(head);
+        if (i == CylinderQueue.NONE) {
+            if (circular) {
+                if (toEdge) return DiskPolicy.seekTo(head != range ? range : 0);
+                i = pending.first();
+            } else {
+                int edge = up ? range : 0;
+                if (toEdge && head != edge) return DiskPolicy.seekTo(edge);
+                up = !up;
+                i = up ? pending.above(head) : pending.below(head);
+            }
+        }
+        pending.remove(i);
+        return i;
+    }
+}
@@ -0,0 +1,96 @@
+package algorithm;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// Tail latency and fairness of a finished schedule. Waiting, turnaround and
+// response times (first run minus arrival) go into fixed-size histograms in
+// one pass over the process table; one pass over the Gantt segments gives
+// first runs, busy time and context switches. Memory is constant apart from
+// the first-run column.
+//   utilization - busy CPU time over CPU time available from the first
+//                 arrival to the last completion
+//   throughput  - completed processes per time unit over the same span
+//   switches    - dispatches of a different process than the CPU ran last
+//   fairness    - Jain's index over each process's share of its turnaround
+//                 spent running (burst / turnaround); 1 when all are equal
+public class ScheduleMetrics {
+    final LatencyHistogram wt = new LatencyHistogram(), tat = new LatencyHistogram(), response = new LatencyHistogram();
+    final int cpus;
+    final long busy, span, contextSwitches;
+    final double utilization, throughput, fairness;
+
+    public ScheduleMetrics(ProcessTable t, GanttTimeline... gantts) {
+        int n = t.size;
+        cpus = gantts.length;
+        long[] firstRun = new long[n + 1];
+        Arrays.fill(firstRun, -1);
+        long busyTime = 0, switches = 0;
+        for (GanttTimeline g : gantts) {
+            int last = GanttTimeline.IDLE;
+            for (int k = 0; k < g.size(); k++) {
+                int id = g.pid(k);
+                if (id == GanttTimeline.IDLE) continue;
+                busyTime += g.end(k) - g.start(k);
+                if (firstRun[id] < 0 || g.start(k) < firstRun[id]) firstRun[id] = g.start(k);
+                if (last != GanttTimeline.IDLE && id != last) switches++;
+                last = id;
+            }
+        }
+        busy = busyTime;
+        contextSwitches = switches;
+
+        long first = Long.MAX_VALUE, end = Long.MIN_VALUE;
+        double shares = 0, squares = 0;
+        for (int i = 0; i < n; i++) {
+            wt.record(t.wt[i]);
+            tat.record(t.tat[i]);
+            // A zero-length burst never appears in the chart; it responds on completion.
+            response.record((firstRun[t.id[i]] >= 0 ? firstRun[t.id[i]] : t.ct[i]) - t.at[i]);
+            first = Math.min(first, t.at[i]);
+            end = Math.max(end, t.ct[i]);
+            double share = t.tat[i] == 0 ? 1 : (double) t.bt[i] / t.tat[i];
+            shares += share;
+            squares += share * share;
+        }
+        span = n == 0 ? 0 : end - first;
+        utilization = span > 0 ? (double) busy / (span * cpus) : 0;
+        throughput = span > 0 ? (double) n / span : 0;
+        fairness = squares > 0 ? shares * shares / (n * squares) : 1;
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-9s %8s %8s %8s %8s %8s%n", "", "mean", "p50", "p95", "p99", "max"));
+        row(sb, "WT", wt);
+        row(sb, "TAT", tat);
+        row(sb, "Response", response);
+        sb.append(String.format("%nCPU utilization: %.1f%%%nThroughput: %.4f processes per time unit%n", utilization * 100, throughput));
+        sb.append(String.format("Context switches: %d%nJain's fairness index: %.4f", contextSwitches, fairness));
+        return sb.toString();
+    }
+
+    private static void row(StringBuilder sb, String name, LatencyHistogram h) {
+        sb.append(String.format("%-9s %8.2f %8d %8d %8d %8d%n", name, h.mean(),
+                h.percentile(0.50), h.percentile(0.95), h.percentile(0.99), h.max()));
+    }
+
+    // One JSON object; algorithm is written as given.
+    public String toJson(String algorithm) {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"algorithm\":\"").append(algorithm.replace("\\", "\\\\").replace("\"", "\\\"")).append("\",");
+        sb.append("\"processes\":").append(tat.count()).append(',');
+        sb.append("\"cpus\":").append(cpus).append(',');
+        json(sb, "wt", wt);
+        json(sb, "tat", tat);
+        json(sb, "response", response);
+        sb.append(String.format(Locale.ROOT, "\"utilization\":%.6f,\"throughput\":%.6f,\"contextSwitches\":%d,\"fairness\":%.6f}",
+                utilization, throughput, contextSwitches, fairness));
+        return sb.toString();
+    }
+
+    private static void json(StringBuilder sb, String name, LatencyHistogram h) {
+        sb.append(String.format(Locale.ROOT, "\"%s\":{\"mean\":%.4f,\"p50\":%d,\"p95\":%d,\"p99\":%d,\"max\":%d},", name,
+                h.mean(), h.percentile(0.50), h.percentile(0.95), h.percentile(0.99), h.max()));
+    }
+}
@@ -0,0 +1,71 @@
+package algorithm;
+
+import java.io.*;
+import java.nio.file.*;
+
+// Headless batch runner: schedules a trace file without Swing and writes
+// per-process metrics plus averages to an output file.
+// Optionally also writes the tail latency and fairness metrics as JSON.
+//   java -cp algorithm.jar algorithm.SchedulingCli <algorithm> <trace> <output> [quantum] [metrics.json]
+public class SchedulingCli {
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Usage: SchedulingCli <algorithm> <trace.csv|trace.bin> <output.csv> [quantum] [metrics.json]");
+            System.err.println("Algorithms: fcfs, sjf, srtf, priority, priority-p, rr, mlfq, or a full name from the GUI");
+            System.exit(2);
+        }
+        try {
+            String algo = algorithmName(args[0]);
+            int quantum = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+            if (quantum <= 0) throw new IllegalArgumentException("Quantum must be positive");
+
+            long start = System.nanoTime();
+            TraceReader trace = TraceReader.read(Paths.get(args[1]));
+            if (trace.size() == 0) throw new IllegalArgumentException("Trace is empty: " + args[1]);
+            long parsed = System.nanoTime();
+            CpuScheduler.Result res = CpuScheduler.run(algo, trace.at, trace.bt, trace.pr, quantum);
+            long scheduled = System.nanoTime();
+            write(res, Paths.get(args[2]));
+            if (args.length > 4) Files.writeString(Paths.get(args[4]), res.metrics.toJson(algo) + "\n");
+
+            System.out.printf("%s: %d processes, parse %d ms, schedule %d ms%n", algo, trace.size(),
+                    (parsed - start) / 1_000_000, (scheduled - parsed) / 1_000_000);
+            System.out.printf("Average WT: %.2f%nAverage TAT: %.2f%n%n%s%n", res.avgWT, res.avgTAT, res.metrics.format());
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    static String algorithmName(String arg) {
+        switch (arg.toLowerCase()) {
+            case "fcfs": return "FCFS";
+            case "sjf": return "SJF (Non-Preemptive)";
+            case "srtf": case "sjf-p": return "SJF (Preemptive)";
+            case "priority": return "Priority (Non-Preemptive)";
+            case "priority-p": return "Priority (Preemptive)";
+            case "rr": return "Round Robin";
+            case "mlfq": return "MLFQ";
+        }
+        for (String name : CpuScheduler.ALGORITHMS)
+            if (name.equalsIgnoreCase(arg)) return name;
+        throw new IllegalArgumentException("Unknown algorithm: " + arg);
+    }
+
+    static void write(CpuScheduler.Result res, Path out) throws IOException {
+        try (Writer w = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(out)), 1 << 16)) {
+            w.write("pid,at,bt,pr,ct,wt,tat\n");
+            StringBuilder line = new StringBuilder(64);
+            ProcessTable t = res.processes;
+            for (int i = 0; i < t.size(); i++) {
+                line.setLength(0);
+                line.append(t.id[i]).append(',').append(t.at[i]).append(',').append(t.bt[i]).append(',')
+                    .append(t.pr[i]).append(',').append(t.ct[i]).append(',').append(t.wt[i]).append(',')
+                    .append(t.tat[i]).append('\n');
+                w.append(line);
+            }
+            w.write(String.format("# Average WT: %.2f%n# Average TAT: %.2f%n", res.avgWT, res.avgTAT));
+        }
+    }
+}
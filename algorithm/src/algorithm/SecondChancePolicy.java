@@ -0,0 +1,36 @@
+package algorithm;
+
+// Second-Chance: a FIFO queue where a page whose reference bit is set is moved
+// to the back with the bit cleared instead of being evicted. This is the queue
+// formulation of CLOCK, so both pick the same victims.
+public class SecondChancePolicy implements ReplacementPolicy {
+    private PageLists queue;
+    private boolean[] referenced;
+    private int frames;
+
+    @Override
+    public void init(int[] pages, int frames) {
+        this.frames = frames;
+        queue = new PageLists(frames, 1);
+        referenced = new boolean[frames];
+    }
+
+    @Override
+    public int reference(int i, int page) {
+        int e = queue.find(page);
+        if (e != PageLists.NONE) {
+            referenced[e] = true;
+            return HIT;
+        }
+        if (queue.size(0) == frames) {
+            while (referenced[e = queue.oldest(0)]) {
+                referenced[e] = false;
+                queue.moveToNewest(e, 0);
+            }
+            queue.remove(e);
+        }
+        e = queue.add(page, 0);
+        referenced[e] = false;
+        return e;
+    }
+}
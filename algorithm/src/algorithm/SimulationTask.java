@@ -0,0 +1,89 @@
+package algorithm;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+// Runs a simulation on a background thread. A modal progress dialog with a
+// Cancel button appears if the run takes longer than a moment, and the result
+// (or failure) is handed back on the Event Dispatch Thread.
+public class SimulationTask<T> extends SwingWorker<T, Void> {
+
+    interface Job<T> {
+        T run(Progress progress) throws Exception;
+    }
+
+    private final Job<T> job;
+    private final Consumer<T> onSuccess;
+    private final Consumer<Throwable> onFailure;
+    private final JDialog dialog;
+    private final Timer showTimer;
+
+    private SimulationTask(Window owner, String title, Job<T> job, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        this.job = job;
+        this.onSuccess = onSuccess;
+        this.onFailure = onFailure;
+
+        JProgressBar bar = new JProgressBar(0, 100);
+        bar.setStringPainted(true);
+        JButton cancelBtn = new JButton("Cancel");
+        cancelBtn.addActionListener(e -> cancel(true));
+        addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) bar.setValue((Integer) e.getNewValue());
+        });
+
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        panel.add(new JLabel(title + "..."), BorderLayout.NORTH);
+        panel.add(bar, BorderLayout.CENTER);
+        panel.add(cancelBtn, BorderLayout.SOUTH);
+
+        dialog = new JDialog(owner, title, Dialog.ModalityType.DOCUMENT_MODAL);
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        dialog.getContentPane().add(panel);
+        dialog.setSize(320, 130);
+        dialog.setLocationRelativeTo(owner);
+
+        showTimer = new Timer(300, e -> {
+            if (!isDone()) dialog.setVisible(true);
+        });
+        showTimer.setRepeats(false);
+    }
+
+    static <T> SimulationTask<T> start(Window owner, String title, Job<T> job,
+                                       Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        SimulationTask<T> task = new SimulationTask<>(owner, title, job, onSuccess, onFailure);
+        task.showTimer.start();
+        task.execute();
+        return task;
+    }
+
+    @Override
+    protected T doInBackground() throws Exception {
+        return job.run(this::report);
+    }
+
+    private void report(long done, long total) {
+        if (isCancelled()) throw new CancellationException("Simulation cancelled");
+        if (total > 0) setProgress((int) Math.min(100, done * 100 / total));
+    }
+
+    @Override
+    protected void done() {
+        showTimer.stop();
+        dialog.dispose();
+        if (isCancelled()) {
+            onFailure.accept(new CancellationException("Simulation cancelled"));
+            return;
+        }
+        try {
+            onSuccess.accept(get());
+        } catch (ExecutionException e) {
+            onFailure.accept(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
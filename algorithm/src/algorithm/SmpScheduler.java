@@ -0,0 +1,191 @@
+package algorithm;
+
+import java.util.Arrays;
+
+// Multi-CPU round robin with one run queue per CPU, the way work-stealing
+// thread pools schedule. New processes are placed on a CPU by the balancing
+// policy:
+//   Work Stealing - processes are dealt out to the CPUs in arrival order and
+//                   a CPU whose own queue is empty steals the newest process
+//                   from the CPU with the longest queue.
+//   Least Loaded  - each process goes to the CPU with the least remaining
+//                   work queued on it and stays there.
+// A process that runs on a different CPU than last time pays the migration
+// cost first, during which that CPU does no useful work.
+public class SmpScheduler {
+    public static final String[] BALANCING = {"Work Stealing", "Least Loaded"};
+
+    static class Result {
+        final ProcessTable processes;
+        final GanttTimeline[] cpus;
+        final long[] busy;
+        final double[] utilization;
+        final long makespan;
+        final long migrations;
+        final ScheduleMetrics metrics;
+
+        Result(ProcessTable processes, GanttTimeline[] cpus, long[] busy, long migrations) {
+            this.processes = processes;
+            this.cpus = cpus;
+            this.busy = busy;
+            this.migrations = migrations;
+            long end = 0;
+            for (int i = 0; i < processes.size; i++) end = Math.max(end, processes.ct[i]);
+            this.makespan = end;
+            this.metrics = new ScheduleMetrics(processes, cpus);
+            // Over the same first-arrival span as metrics.utilization, which
+            // is the mean of these.
+            utilization = new double[cpus.length];
+            for (int c = 0; c < cpus.length; c++)
+                utilization[c] = metrics.span > 0 ? (double) busy[c] / metrics.span : 0;
+        }
+    }
+
+    public static Result run(int[] at, int[] bt, int[] pr, int cpus, int quantum, int migrationCost,
+                             String balancing, Progress progress) {
+        if (cpus <= 0) throw new IllegalArgumentException("Need at least one CPU");
+        if (quantum <= 0) throw new IllegalArgumentException("Quantum must be positive");
+        if (migrationCost < 0) throw new IllegalArgumentException("Migration cost must not be negative");
+        boolean stealing = switch (balancing) {
+            case "Work Stealing" -> true;
+            case "Least Loaded" -> false;
+            default -> throw new IllegalArgumentException("Unknown balancing policy: " + balancing);
+        };
+
+        ProcessTable t = new ProcessTable(at, bt, pr);
+        int n = t.size;
+        int[] order = t.arrivalOrder();
+        GanttTimeline[] gantt = new GanttTimeline[cpus];
+        for (int c = 0; c < cpus; c++) gantt[c] = new GanttTimeline();
+
+        // Per-CPU deques over shared links: the owner takes from the head,
+        // thieves from the tail.
+        int[] prev = new int[n], next = new int[n], lastCpu = new int[n];
+        Arrays.fill(lastCpu, -1);
+        int[] head = new int[cpus], tail = new int[cpus], queued = new int[cpus];
+        Arrays.fill(head, -1);
+        Arrays.fill(tail, -1);
+        long[] load = new long[cpus], busy = new long[cpus];
+        int[] running = new int[cpus], requeue = new int[cpus];
+        long[] freeAt = new long[cpus];
+        Arrays.fill(running, -1);
+
+        long migrations = 0;
+        long time = 0;
+        int arrived = 0, completed = 0, dealt = 0;
+        while (completed < n) {
+            // Slices ending now finish or wait to be queued again behind the
+            // arrivals of this instant, as in single-CPU round robin.
+            int requeued = 0;
+            for (int c = 0; c < cpus; c++) {
+                int p = running[c];
+                if (p < 0 || freeAt[c] != time) continue;
+                running[c] = -1;
+                if (t.rt[p] == 0) {
+                    t.finish(p, time);
+                    completed++;
+                    if ((completed & 0x3FF) == 0) progress.update(completed, n);
+                } else {
+                    requeue[requeued++] = p;
+                }
+            }
+            if (completed == n) break;
+
+            int from = arrived;
+            while (arrived < n && t.at[order[arrived]] <= time) arrived++;
+            Arrays.sort(order, from, arrived);
+            for (int k = from; k < arrived; k++) {
+                int p = order[k], c = 0;
+                if (stealing) {
+                    c = dealt++ % cpus;
+                } else {
+                    for (int d = 1; d < cpus; d++) if (load[d] < load[c]) c = d;
+                }
+                pushTail(c, p, prev, next, head, tail, queued);
+                load[c] += t.rt[p];
+            }
+            for (int k = 0; k < requeued; k++) {
+                int p = requeue[k];
+                pushTail(lastCpu[p], p, prev, next, head, tail, queued);
+            }
+
+            // Owners take from their own queues first, then idle CPUs steal.
+            for (int c = 0; c < cpus; c++) {
+                if (running[c] < 0 && head[c] != -1) {
+                    int p = popHead(c, prev, next, head, tail, queued);
+                    migrations += dispatch(c, p, time, t, gantt, lastCpu, running, freeAt, load, busy, quantum, migrationCost);
+                }
+            }
+            for (int c = 0; c < cpus && stealing; c++) {
+                if (running[c] >= 0) continue;
+                int victim = -1;
+                for (int d = 0; d < cpus; d++)
+                    if (queued[d] > 0 && (victim == -1 || queued[d] > queued[victim])) victim = d;
+                if (victim < 0) break;
+                int p = popTail(victim, prev, next, head, tail, queued);
+                load[victim] -= t.rt[p];
+                load[c] += t.rt[p];
+                migrations += dispatch(c, p, time, t, gantt, lastCpu, running, freeAt, load, busy, quantum, migrationCost);
+            }
+
+            // Next instant anything changes: a slice ends, or a process arrives
+            // while a CPU is idle. Arrivals during busy slices are queued when
+            // a slice ends, in input order, as single-CPU round robin does.
+            long wake = Long.MAX_VALUE;
+            boolean idle = false;
+            for (int c = 0; c < cpus; c++) {
+                if (running[c] >= 0) wake = Math.min(wake, freeAt[c]);
+                else idle = true;
+            }
+            if (idle && arrived < n) wake = Math.min(wake, t.at[order[arrived]]);
+            if (wake == Long.MAX_VALUE) throw new IllegalStateException("SMP simulation stalled with processes pending");
+            time = wake;
+        }
+        return new Result(t, gantt, busy, migrations);
+    }
+
+    // Starts one slice of p on CPU c. Returns 1 when p migrated to get here.
+    // Migration time shows as idle in the CPU's Gantt chart.
+    private static int dispatch(int c, int p, long time, ProcessTable t, GanttTimeline[] gantt, int[] lastCpu,
+                                int[] running, long[] freeAt, long[] load, long[] busy, int quantum, int migrationCost) {
+        boolean migrated = lastCpu[p] >= 0 && lastCpu[p] != c;
+        long start = migrated ? time + migrationCost : time;
+        lastCpu[p] = c;
+        int slice = Math.min(t.rt[p], quantum);
+        gantt[c].add(GanttTimeline.IDLE, gantt[c].endTime(), start);
+        gantt[c].add(t.id[p], start, start + slice);
+        t.rt[p] -= slice;
+        load[c] -= slice;
+        busy[c] += slice;
+        running[c] = p;
+        freeAt[c] = start + slice;
+        return migrated ? 1 : 0;
+    }
+
+    private static void pushTail(int c, int p, int[] prev, int[] next, int[] head, int[] tail, int[] queued) {
+        prev[p] = tail[c];
+        next[p] = -1;
+        if (tail[c] == -1) head[c] = p;
+        else next[tail[c]] = p;
+        tail[c] = p;
+        queued[c]++;
+    }
+
+    private static int popHead(int c, int[] prev, int[] next, int[] head, int[] tail, int[] queued) {
+        int p = head[c];
+        head[c] = next[p];
+        if (head[c] == -1) tail[c] = -1;
+        else prev[head[c]] = -1;
+        queued[c]--;
+        return p;
+    }
+
+    private static int popTail(int c, int[] prev, int[] next, int[] head, int[] tail, int[] queued) {
+        int p = tail[c];
+        tail[c] = prev[p];
+        if (tail[c] == -1) head[c] = -1;
+        else next[tail[c]] = -1;
+        queued[c]--;
+        return p;
+    }
+}
@@ -0,0 +1,24 @@
+package algorithm;
+
+// Shortest seek time first: always serves the pending request closest to the head.
+public class SstfDiskPolicy implements DiskPolicy {
+    private CylinderQueue pending;
+
+    @Override
+    public void init(int[] cylinders, int[] arrivals, boolean[] writes, int range, boolean up) {
+        pending = new CylinderQueue(cylinders);
+    }
+
+    @Override
+    public void arrive(int i) {
+        pending.add(i);
+    }
+
+    @Override
+    public int next(int head, double now) {
+        int i = pending.nearest(head);
+        if (i == CylinderQueue.NONE) return WAIT;
+        pending.remove(i);
+        return i;
+    }
+}
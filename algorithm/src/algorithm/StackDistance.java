@@ -0,0 +1,71 @@
+package algorithm;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.Locale;
+
+// Mattson stack-distance analysis for LRU. A single pass over the reference
+// string yields the fault count for every frame count at once: a reference hits
+// with f frames exactly when fewer than f distinct pages were touched since the
+// previous reference to the same page. Those counts come from a Fenwick tree
+// that marks the latest reference to each page, so the pass is O(n log n).
+public class StackDistance {
+
+    // Returns faults[f] = LRU page faults with f frames, for f = 1..distinct pages
+    // (index 0 is unused). More frames than distinct pages only leave cold misses.
+    static long[] lruFaultCurve(int[] pages, Progress progress) {
+        int n = pages.length;
+        int[] ids = PageReplacement.denseIds(pages);
+        int distinct = 0;
+        for (int id : ids) distinct = Math.max(distinct, id + 1);
+
+        int[] last = new int[distinct];
+        Arrays.fill(last, -1);
+        int[] tree = new int[n + 1];
+        long[] hist = new long[distinct + 1];
+        long cold = 0;
+
+        for (int i = 0; i < n; i++) {
+            if ((i & 0x3FF) == 0) progress.update(i, n);
+            int id = ids[i];
+            int prev = last[id];
+            if (prev < 0) {
+                cold++;
+            } else {
+                // distinct pages referenced strictly between prev and i, plus this one
+                int d = sum(tree, i) - sum(tree, prev + 1) + 1;
+                hist[d]++;
+                add(tree, prev + 1, -1);
+            }
+            add(tree, i + 1, 1);
+            last[id] = i;
+        }
+
+        long[] faults = new long[distinct + 1];
+        long misses = cold;
+        for (int f = distinct; f >= 1; f--) {
+            faults[f] = misses;
+            misses += hist[f];
+        }
+        return faults;
+    }
+
+    static void exportCsv(long[] faults, int references, Path out) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(out)) {
+            w.write("frames,faults,miss_ratio\n");
+            for (int f = 1; f < faults.length; f++)
+                w.write(f + "," + faults[f] + "," + String.format(Locale.ROOT, "%.6f", (double) faults[f] / references) + "\n");
+        }
+    }
+
+    private static void add(int[] tree, int i, int delta) {
+        for (; i < tree.length; i += i & -i) tree[i] += delta;
+    }
+
+    private static int sum(int[] tree, int i) {
+        int s = 0;
+        for (; i > 0; i -= i & -i) s += tree[i];
+        return s;
+    }
+}
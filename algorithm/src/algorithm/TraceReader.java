@@ -0,0 +1,114 @@
+package algorithm;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.Arrays;
+
+// Streams (arrival, burst, priority) records from a trace file.
+// Text traces hold one record per line, comma or whitespace separated, with an
+// optional priority column; '#' starts a comment and a first line without
+// digits is treated as a header. A leading UTF-8 byte order mark is skipped. Files ending in ".bin" hold big-endian int triples.
+public class TraceReader {
+    int[] at = new int[1024], bt = new int[1024], pr = new int[1024];
+    int size;
+
+    public static TraceReader read(Path file) throws IOException {
+        TraceReader trace = new TraceReader();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            if (file.getFileName().toString().endsWith(".bin")) trace.readBinary(in);
+            else trace.readText(in);
+        }
+        trace.at = Arrays.copyOf(trace.at, trace.size);
+        trace.bt = Arrays.copyOf(trace.bt, trace.size);
+        trace.pr = Arrays.copyOf(trace.pr, trace.size);
+        return trace;
+    }
+
+    public int size() { return size; }
+
+    private void readBinary(InputStream in) throws IOException {
+        byte[] rec = new byte[12];
+        while (true) {
+            int n = in.readNBytes(rec, 0, 12);
+            if (n == 0) return;
+            if (n < 12) throw new IOException("Truncated record " + (size + 1));
+            append(readInt(rec, 0), readInt(rec, 4), readInt(rec, 8), size + 1);
+        }
+    }
+
+    private void readText(InputStream in) throws IOException {
+        byte[] buf = new byte[1 << 16];
+        int[] fields = new int[3];
+        int count = 0, value = 0, line = 1, len = in.readNBytes(buf, 0, 3), pos = 0;
+        if (len == 3 && (buf[0] & 0xFF) == 0xEF && (buf[1] & 0xFF) == 0xBB && (buf[2] & 0xFF) == 0xBF) pos = 3;
+        boolean inNumber = false, negative = false, comment = false, skipLine = false;
+        while (true) {
+            if (pos == len) {
+                len = in.read(buf);
+                pos = 0;
+            }
+            int c = len <= 0 ? -1 : buf[pos++] & 0xFF;
+            if (c == '\n' || c == -1) {
+                if (negative && !inNumber) throw new IOException("Bad number on line " + line);
+                if (inNumber) {
+                    if (count == 3) throw new IOException("Too many fields on line " + line);
+                    fields[count++] = negative ? -value : value;
+                }
+                if (!skipLine && count > 0) {
+                    if (count < 2) throw new IOException("Expected arrival and burst on line " + line);
+                    append(fields[0], fields[1], count == 3 ? fields[2] : 0, line);
+                }
+                if (c == -1) return;
+                count = 0; value = 0; line++;
+                inNumber = negative = comment = skipLine = false;
+                continue;
+            }
+            if (comment) continue;
+            if (skipLine) {
+                // A header holds no digits; otherwise line 1 is a bad record.
+                if (c >= '0' && c <= '9') throw new IOException("Unexpected character '" + (char) c + "' in header on line 1");
+                if (c == '#') comment = true;
+                continue;
+            }
+            if (c >= '0' && c <= '9') {
+                int d = c - '0';
+                if (value > (Integer.MAX_VALUE - d) / 10) throw new IOException("Number too large on line " + line);
+                value = value * 10 + d;
+                inNumber = true;
+            } else if (c == '-' && !inNumber && !negative) {
+                negative = true;
+            } else if (c == ',' || c == ' ' || c == '\t' || c == '\r' || c == '#') {
+                if (negative && !inNumber) throw new IOException("Bad number on line " + line);
+                if (inNumber) {
+                    if (count == 3) throw new IOException("Too many fields on line " + line);
+                    fields[count++] = negative ? -value : value;
+                }
+                value = 0; inNumber = negative = false;
+                if (c == '#') comment = true;
+            } else if (line == 1 && count == 0 && !inNumber && !negative) {
+                skipLine = true; // header row
+            } else {
+                throw new IOException("Unexpected character '" + (char) c + "' on line " + line);
+            }
+        }
+    }
+
+    private void append(int arrival, int burst, int priority, int line) throws IOException {
+        if (arrival < 0 || burst <= 0)
+            throw new IOException("Record " + line + " needs arrival >= 0 and burst > 0");
+        if (size == at.length) {
+            int cap = size * 2;
+            at = Arrays.copyOf(at, cap);
+            bt = Arrays.copyOf(bt, cap);
+            pr = Arrays.copyOf(pr, cap);
+        }
+        at[size] = arrival;
+        bt[size] = burst;
+        pr[size] = priority;
+        size++;
+    }
+
+    private static int readInt(byte[] b, int off) {
+        return (b[off] & 0xff) << 24 | (b[off + 1] & 0xff) << 16 | (b[off + 2] & 0xff) << 8 | (b[off + 3] & 0xff);
+    }
+}
@@ -0,0 +1,58 @@
+package algorithm;
+
+// Full 2Q (Johnson & Shasha). New pages enter the FIFO A1in; pages evicted
+// from it are remembered in the ghost queue A1out, and a page referenced again
+// while remembered is promoted to the LRU queue Am. One-time scans therefore
+// never push frequently used pages out of Am.
+public class TwoQueuePolicy implements ReplacementPolicy {
+    private static final int A1IN = 0, AM = 1, A1OUT = 2;
+
+    private PageLists lists;
+    private int[] slotOf;
+    private int frames, kin, kout, used;
+
+    @Override
+    public void init(int[] pages, int frames) {
+        this.frames = frames;
+        kin = Math.max(1, frames / 4);
+        kout = Math.max(1, frames / 2);
+        lists = new PageLists(frames + kout + 1, 3);
+        slotOf = new int[frames + kout + 1];
+    }
+
+    @Override
+    public int reference(int i, int page) {
+        int e = lists.find(page);
+        if (e != PageLists.NONE) {
+            int l = lists.listOf(e);
+            if (l == AM) {
+                lists.moveToNewest(e, AM);
+                return HIT;
+            }
+            if (l == A1IN) return HIT;
+            // remembered in A1out: drop the ghost and load the page into Am
+            lists.remove(e);
+            int slot = reclaim();
+            slotOf[lists.add(page, AM)] = slot;
+            return slot;
+        }
+        int slot = reclaim();
+        slotOf[lists.add(page, A1IN)] = slot;
+        return slot;
+    }
+
+    private int reclaim() {
+        if (used < frames) return used++;
+        if (lists.size(A1IN) > kin || lists.size(AM) == 0) {
+            int victim = lists.oldest(A1IN);
+            int slot = slotOf[victim];
+            lists.moveToNewest(victim, A1OUT);
+            if (lists.size(A1OUT) > kout) lists.remove(lists.oldest(A1OUT));
+            return slot;
+        }
+        int victim = lists.oldest(AM);
+        int slot = slotOf[victim];
+        lists.remove(victim);
+        return slot;
+    }
+}
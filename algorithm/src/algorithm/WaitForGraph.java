@@ -0,0 +1,130 @@
+package algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Wait-for graph between processes: an edge p -> q means p is waiting for a
+// resource q holds. With single-instance resources a cycle is exactly a
+// deadlock. Edges are kept in compressed rows (the targets of p are
+// edges[start[p] .. start[p + 1])) and cycles are found as the strongly
+// connected components of Tarjan's algorithm, run with an explicit stack so
+// deep graphs cannot overflow the call stack. Everything is O(V + E).
+public class WaitForGraph {
+    final int n;
+    final int[] start, edges;
+
+    WaitForGraph(int n, int[] from, int[] to, int size) {
+        this.n = n;
+        start = new int[n + 1];
+        edges = new int[size];
+        for (int e = 0; e < size; e++) start[from[e] + 1]++;
+        for (int p = 0; p < n; p++) start[p + 1] += start[p];
+        int[] fill = Arrays.copyOf(start, n);
+        for (int e = 0; e < size; e++) edges[fill[from[e]]++] = to[e];
+    }
+
+    // Graph over the resources that have exactly one instance in total: a
+    // process requesting one that another process holds waits for it.
+    // Resources with more instances are left to DeadlockDetector.
+    public static WaitForGraph fromResources(IntMatrix alloc, IntMatrix request, int[] available) {
+        int n = alloc.rows, m = available.length;
+        if (request.rows != n) throw new IllegalArgumentException("Allocation has " + n + " rows but Request has " + request.rows);
+        if (n > 0 && (alloc.cols != m || request.cols != m))
+            throw new IllegalArgumentException("Every row must have " + m + " values");
+
+        long[] total = new long[m];
+        int[] holder = new int[m];
+        Arrays.fill(holder, -1);
+        for (int j = 0; j < m; j++) total[j] = available[j];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                int held = alloc.get(i, j);
+                total[j] += held;
+                if (held > 0) holder[j] = i;
+            }
+        }
+
+        int[] from = new int[16], to = new int[16];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                if (total[j] != 1 || available[j] != 0 || request.get(i, j) == 0 || holder[j] == i) continue;
+                if (size == from.length) {
+                    from = Arrays.copyOf(from, size * 2);
+                    to = Arrays.copyOf(to, size * 2);
+                }
+                from[size] = i;
+                to[size++] = holder[j];
+            }
+        }
+        return new WaitForGraph(n, from, to, size);
+    }
+
+    public int processes() { return n; }
+    public int edgeCount() { return edges.length; }
+
+    // Groups of processes that wait on each other in a cycle, each listed in
+    // ascending order, groups ordered by their lowest process.
+    public int[][] cycles() {
+        int[] index = new int[n], low = new int[n], component = new int[n];
+        int[] stack = new int[n], call = new int[n], next = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(index, -1);
+        int counter = 0, sp = 0, components = 0;
+        int[] componentSize = new int[n];
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) continue;
+            int cp = 0;
+            call[cp++] = root;
+            index[root] = low[root] = counter++;
+            stack[sp++] = root;
+            onStack[root] = true;
+            next[root] = start[root];
+
+            while (cp > 0) {
+                int v = call[cp - 1];
+                if (next[v] < start[v + 1]) {
+                    int w = edges[next[v]++];
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        next[w] = start[w];
+                        call[cp++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                cp--;
+                if (cp > 0) low[call[cp - 1]] = Math.min(low[call[cp - 1]], low[v]);
+                if (low[v] != index[v]) continue;
+                int w;
+                do {
+                    w = stack[--sp];
+                    onStack[w] = false;
+                    component[w] = components;
+                    componentSize[components]++;
+                } while (w != v);
+                components++;
+            }
+        }
+
+        // Bucket the members by process number so every list comes out sorted.
+        int[][] members = new int[components][];
+        int[] filled = new int[components];
+        List<int[]> cycles = new ArrayList<>();
+        for (int p = 0; p < n; p++) {
+            int c = component[p];
+            if (componentSize[c] < 2) continue;
+            if (members[c] == null) {
+                members[c] = new int[componentSize[c]];
+                cycles.add(members[c]);
+            }
+            members[c][filled[c]++] = p;
+        }
+        return cycles.toArray(new int[0][]);
+    }
+}